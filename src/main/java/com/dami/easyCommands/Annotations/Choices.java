@@ -0,0 +1,19 @@
+package com.dami.easyCommands.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a parameter to a fixed set of literals, matched ignoring case and completed from
+ * the same set. The value passed on is the literal as declared here.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface Choices {
+    /**
+     * The accepted literals (e.g. {"on", "off"}).
+     */
+    String[] value();
+}
@@ -38,4 +38,10 @@ public @interface SubCommandTab {
      * Reusable tab completion name from TabRegistry
      */
     String suggestion() default "";
+
+    /**
+     * Whether this method may be called off the main thread when async tab completion is enabled.
+     * Completions that reach an unsafe method are handed back to the main thread.
+     */
+    boolean threadSafe() default false;
 }
@@ -23,6 +23,13 @@ public class EasyCommands {
         TabRegistry.register(key, completer);
     }
 
+    /**
+     * Registers a reusable tab completion source, optionally declaring it safe to call off the main thread.
+     */
+    public static void registerCompletion(String key, TabRegistry.TabCompleter completer, boolean threadSafe) {
+        TabRegistry.register(key, completer, threadSafe);
+    }
+
     /**
      * Registers a custom condition required by @Require.
      */
@@ -44,6 +51,82 @@ public class EasyCommands {
         ParameterResolver.registerSenderResolver(clazz, resolver);
     }
 
+    /**
+     * Ends startup registration: tab completions, conditions, exception handlers, parameter types,
+     * sender resolvers and completion providers are copied into immutable tables that every thread
+     * reads without locking. Call it at the end of {@code onEnable}; registering afterwards still
+     * works but copies the table each time.
+     */
+    public static void freezeRegistries() {
+        TabRegistry.freeze();
+        com.dami.easyCommands.core.ConditionRegistry.freeze();
+        com.dami.easyCommands.core.ExceptionRegistry.freeze();
+        ParameterResolver.freeze();
+        com.dami.easyCommands.internal.CompletionResolver.freeze();
+    }
+
+    /**
+     * Keeps each player's permission answers between tab completions, help pages and GUI opens,
+     * dropping them when the player quits or their permissions are recalculated.
+     */
+    public static void enablePermissionCache(org.bukkit.plugin.Plugin plugin) {
+        com.dami.easyCommands.internal.PermissionCache.register(plugin);
+    }
+
+    /**
+     * Forgets the cached permission answers of a player, for permission changes Bukkit is not told about.
+     */
+    public static void invalidatePermissions(java.util.UUID playerId) {
+        com.dami.easyCommands.internal.PermissionCache.invalidate(playerId);
+    }
+
+    /**
+     * Keeps sorted, case-insensitive indexes of online players and loaded worlds for the Player and
+     * World parameters and the players/worlds completions, updated from join/quit and world events.
+     */
+    public static void enableOnlineIndex(org.bukkit.plugin.Plugin plugin) {
+        com.dami.easyCommands.internal.OnlineIndex.register(plugin);
+    }
+
+    /**
+     * Resolves OfflinePlayer arguments from a local name to UUID cache instead of a blocking profile
+     * lookup. Unknown names are looked up in the background and work on the next try.
+     */
+    public static void enableProfileCache(org.bukkit.plugin.Plugin plugin) {
+        com.dami.easyCommands.internal.ProfileCache.register(plugin);
+    }
+
+    /**
+     * Replaces how names missing from the profile cache are looked up.
+     */
+    public static void setProfileResolver(com.dami.easyCommands.internal.ProfileCache.Resolver resolver) {
+        com.dami.easyCommands.internal.ProfileCache.setResolver(resolver);
+    }
+
+    /**
+     * Resolves tab completions of the given commands on Paper's async tab-complete thread.
+     * Completions that reach code not declared thread-safe still run on the main thread.
+     */
+    public static void enableAsyncTabCompletion(org.bukkit.plugin.Plugin plugin, com.dami.easyCommands.core.BaseCommand... commands) {
+        com.dami.easyCommands.internal.AsyncTabCompletion.enable(plugin, commands);
+    }
+
+    /**
+     * Completes with the best {@code limit} prefix, word, substring and subsequence matches (e.g.
+     * {@code dsw} for {@code diamond_sword}) instead of every prefix match. 0 switches it off.
+     */
+    public static void setRankedCompletion(int limit) {
+        com.dami.easyCommands.internal.CompletionResolver.setRankedLimit(limit);
+    }
+
+    /**
+     * Registers the commands as Brigadier trees through Paper's lifecycle registrar instead of plugin.yml,
+     * so the client completes sub-commands and checks numeric arguments locally.
+     */
+    public static void registerBrigadier(org.bukkit.plugin.Plugin plugin, com.dami.easyCommands.core.BaseCommand... commands) {
+        com.dami.easyCommands.internal.BrigadierTree.register(plugin, commands);
+    }
+
     /**
      * Halts a command and prompts the user for chat input.
      */
@@ -37,4 +37,71 @@ public class StringUtil {
         }
         return costs[s2.length()];
     }
+
+    /**
+     * Calculates the case-insensitive Levenshtein distance, giving up as soon as it exceeds {@code max}.
+     * Only the diagonal band of width {@code 2 * max + 1} is filled, so the cost is O(max * length).
+     * @param s1 The first string.
+     * @param s2 The second string.
+     * @param max The largest distance of interest.
+     * @return The distance, or {@code max + 1} if it is larger than {@code max}.
+     */
+    public static int levenshteinDistance(String s1, String s2, int max) {
+        int n = s1.length();
+        int m = s2.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(m, i + max);
+            current[from - 1] = from == 1 ? i : max + 1;
+            int rowMin = current[from - 1];
+            char c = foldCase(s1.charAt(i - 1));
+            for (int j = from; j <= to; j++) {
+                int value = previous[j - 1] + (c == foldCase(s2.charAt(j - 1)) ? 0 : 1);
+                value = Math.min(value, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (to < m) {
+                current[to + 1] = max + 1;
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[m], max + 1);
+    }
+
+    /**
+     * Folds a character the same way {@link String#equalsIgnoreCase(String)} compares it.
+     * @param c The character.
+     * @return The case-folded character.
+     */
+    public static char foldCase(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Calculates a hash that is consistent with {@link String#equalsIgnoreCase(String)}
+     * without allocating a lower-cased copy of the string.
+     * @param s The string.
+     * @return The case-insensitive hash.
+     */
+    public static int caseInsensitiveHash(String s) {
+        int h = 0;
+        for (int i = 0; i < s.length(); i++) {
+            h = 31 * h + foldCase(s.charAt(i));
+        }
+        return h;
+    }
 }
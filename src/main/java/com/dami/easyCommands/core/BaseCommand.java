@@ -2,9 +2,20 @@ package com.dami.easyCommands.core;
 
 import com.dami.easyCommands.annotations.SubCommand;
 import com.dami.easyCommands.annotations.SubCommandTab;
+import com.dami.easyCommands.internal.CommandLexer;
 import com.dami.easyCommands.internal.CommandNode;
+import com.dami.easyCommands.internal.CommandScanner;
+import com.dami.easyCommands.internal.CommandSpec;
+import com.dami.easyCommands.internal.CompiledNode;
+import com.dami.easyCommands.internal.CompletionResolver;
+import com.dami.easyCommands.internal.InvocationContext;
+import com.dami.easyCommands.internal.RankedMatcher;
+import com.dami.easyCommands.internal.RegistrationTiming;
 import com.dami.easyCommands.internal.TabCompleteInfo;
+import com.dami.easyCommands.internal.TabSpec;
 import com.dami.easyCommands.internal.SubCommandInfo;
+import com.dami.easyCommands.internal.TabCache;
+import com.dami.easyCommands.internal.TreeSnapshot;
 import com.dami.easyCommands.model.MessageKey;
 import com.dami.easyCommands.util.StringUtil;
 import org.bukkit.command.Command;
@@ -16,13 +27,20 @@ import org.yaml.snakeyaml.Yaml;
 
 import java.lang.reflect.Method;
 import java.util.*;
-import java.util.stream.Stream;
+import java.util.function.Predicate;
 
 import static java.lang.System.arraycopy;
 
 public abstract class BaseCommand implements TabExecutor, ICommand {
 
-    protected final Map<String, CommandNode> root = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    /**
+     * The builder tree, only touched while holding this command's lock. Dispatch never reads it.
+     */
+    protected Map<String, CommandNode> root = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    private volatile TreeSnapshot tree = TreeSnapshot.EMPTY;
+
+    protected final List<RegistrationTiming> registrationTimings = new ArrayList<>();
 
     protected String description = "";
 
@@ -57,13 +75,222 @@ public abstract class BaseCommand implements TabExecutor, ICommand {
         }
     }
 
-    public void initialize() {
+    public synchronized void initialize() {
         if(getName() == null){
             throw new IllegalArgumentException("Command name cannot be null");
         }
-        root.clear();
-        collectSubCommands(this);
-        collectTabCompleteMethods(this);
+        // Built off to the side: dispatch keeps using the published tree until the new one replaces it
+        // The timings belong to the tree they describe, so a failed rebuild restores both
+        Map<String, CommandNode> previous = root;
+        List<RegistrationTiming> previousTimings = new ArrayList<>(registrationTimings);
+        root = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        registrationTimings.clear();
+        try {
+            merge(CommandScanner.scan(this));
+        } catch (RuntimeException e) {
+            root = previous;
+            registrationTimings.clear();
+            registrationTimings.addAll(previousTimings);
+            throw e;
+        }
+        compileTree();
+    }
+
+    /**
+     * Inserts the commands of a scan into the builder tree, in scan order, and records how long
+     * the class took to register.
+     */
+    protected synchronized void merge(CommandScanner.Scan scan) {
+        long start = System.nanoTime();
+        for (CommandSpec spec : scan.getCommands()) {
+            insertCommand(spec.getPath(), spec, scan.getOwner());
+        }
+        for (TabSpec spec : scan.getTabCompletes()) {
+            insertTabComplete(spec.getPath(), spec, scan.getOwner());
+        }
+        registrationTimings.add(new RegistrationTiming(scan.getClassName(), scan.getScanNanos(), System.nanoTime() - start,
+                scan.getCommands().size(), scan.getTabCompletes().size()));
+    }
+
+    /**
+     * Per-class registration timings since the last {@link #initialize()}, in registration order.
+     */
+    public synchronized List<RegistrationTiming> getRegistrationTimings() {
+        return Collections.unmodifiableList(new ArrayList<>(registrationTimings));
+    }
+
+    /**
+     * Freezes the builder tree into a new snapshot and publishes it for dispatch in one write.
+     * Must be called after the tree has been modified.
+     */
+    protected synchronized void compileTree() {
+        tree = tree.next(CompiledNode.compile(root));
+    }
+
+    /**
+     * Publishes the builder changes along the given paths only. The builder subtree at the end of
+     * each path is compiled again and the nodes above it are copied; every other compiled node is
+     * shared with the previous snapshot, so the cost follows the depth of the paths rather than the
+     * size of the tree. Paths that no longer exist in the builder are removed from the compiled tree.
+     */
+    protected synchronized void publish(Collection<String[]> paths) {
+        CompiledNode compiled = tree.getRoot();
+        for (String[] path : outermost(paths)) {
+            if (path.length == 0) {
+                compileTree();
+                return;
+            }
+            compiled = republish(compiled, root, null, null, path, 0);
+        }
+        tree = tree.next(compiled);
+    }
+
+    private static CompiledNode republish(CompiledNode compiled, Map<String, CommandNode> nodes, SubCommandInfo subCommandInfo,
+                                          TabCompleteInfo tabCompleteInfo, String[] path, int depth) {
+        String key = path[depth];
+        CommandNode node = nodes.get(key);
+        CompiledNode compiledChild = compiled.child(key);
+        CompiledNode updated;
+        if (node == null) {
+            updated = null;
+        } else if (compiledChild == null || depth == path.length - 1) {
+            updated = node.compile();
+        } else {
+            updated = republish(compiledChild, node.nodes, node.getSubCommandInfo(), node.getTabCompleteInfo(), path, depth + 1);
+        }
+        // Keep the spelling the builder stored the key with, as a full compile would
+        if (node != null && nodes instanceof NavigableMap) {
+            key = ((NavigableMap<String, CommandNode>) nodes).ceilingKey(key);
+        }
+        return compiled.with(subCommandInfo, tabCompleteInfo, key, updated);
+    }
+
+    /**
+     * The paths not already covered by a shorter one among them.
+     */
+    private static List<String[]> outermost(Collection<String[]> paths) {
+        List<String[]> sorted = new ArrayList<>(paths);
+        sorted.sort(Comparator.comparingInt(path -> path.length));
+        List<String[]> result = new ArrayList<>();
+        for (String[] path : sorted) {
+            boolean covered = false;
+            for (String[] shorter : result) {
+                if (startsWith(path, shorter)) {
+                    covered = true;
+                    break;
+                }
+            }
+            if (!covered) {
+                result.add(path);
+            }
+        }
+        return result;
+    }
+
+    private static boolean startsWith(String[] path, String[] prefix) {
+        if (prefix.length > path.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (!prefix[i].equalsIgnoreCase(path[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The path of a command and the sibling paths its aliases register it under.
+     */
+    protected static List<String[]> commandPaths(CommandSpec spec) {
+        String[] path = spec.getPath();
+        List<String[]> paths = new ArrayList<>(1 + spec.getAliases().length);
+        paths.add(path);
+        for (String alias : spec.getAliases()) {
+            String[] aliasPath = path.clone();
+            aliasPath[path.length - 1] = alias;
+            paths.add(aliasPath);
+        }
+        return paths;
+    }
+
+    /**
+     * Every path a scan registers something at.
+     */
+    protected static List<String[]> touchedPaths(CommandScanner.Scan scan) {
+        List<String[]> paths = new ArrayList<>();
+        for (CommandSpec spec : scan.getCommands()) {
+            paths.addAll(commandPaths(spec));
+        }
+        for (TabSpec spec : scan.getTabCompletes()) {
+            paths.add(spec.getPath());
+        }
+        return paths;
+    }
+
+    /**
+     * Clears what matches at a path of the builder tree and drops the nodes left empty. The
+     * compiled tree is untouched until the path is published.
+     */
+    protected synchronized void removeFromBuilder(String[] path, Predicate<? super SubCommandInfo> command,
+                                                  Predicate<? super TabCompleteInfo> tabComplete) {
+        CommandNode node = root.get(path[0]);
+        if (node != null && node.remove(path, 1, command, tabComplete)) {
+            root.remove(path[0]);
+        }
+    }
+
+    /**
+     * Adds one command, with its aliases, and publishes it without recompiling the rest of the tree.
+     */
+    public synchronized void addCommand(CommandSpec spec, Object owner) {
+        insertCommand(spec.getPath(), spec, owner);
+        publish(commandPaths(spec));
+    }
+
+    /**
+     * Removes the command at a path, along with the paths its aliases registered it under, and
+     * publishes the change without recompiling the rest of the tree.
+     *
+     * @return whether there was a command at the path
+     */
+    public synchronized boolean removeCommand(String... path) {
+        CommandNode node = null;
+        Map<String, CommandNode> nodes = root;
+        for (String segment : path) {
+            node = nodes.get(segment);
+            if (node == null) {
+                return false;
+            }
+            nodes = node.nodes;
+        }
+        SubCommandInfo command = node != null ? node.getSubCommandInfo() : null;
+        if (command == null) {
+            return false;
+        }
+        List<String[]> paths = new ArrayList<>();
+        paths.add(path);
+        for (String alias : command.getAliases()) {
+            String[] aliasPath = path.clone();
+            aliasPath[path.length - 1] = alias;
+            paths.add(aliasPath);
+        }
+        for (String[] each : paths) {
+            removeFromBuilder(each, info -> info == command, null);
+        }
+        publish(paths);
+        return true;
+    }
+
+    /**
+     * The published tree. Take it once and read only from it for a consistent view.
+     */
+    public TreeSnapshot getTree() {
+        return tree;
+    }
+
+    public CompiledNode getCompiledRoot() {
+        return tree.getRoot();
     }
 
     @Override
@@ -78,46 +305,37 @@ public abstract class BaseCommand implements TabExecutor, ICommand {
 
     public abstract String getName();
 
+    /**
+     * The compile-time generated dispatcher of a command class, or null when it has to be reflected.
+     */
+    @SuppressWarnings("unchecked")
+    protected static GeneratedDispatcher<ICommand> dispatcherFor(ICommand commandClass) {
+        return (GeneratedDispatcher<ICommand>) DispatcherRegistry.get(commandClass.getClass());
+    }
+
     protected void collectSubCommands(ICommand commandClass) {
-        for (Method method : commandClass.getClass().getDeclaredMethods()) {
-            if (method.isAnnotationPresent(SubCommand.class)) {
-                SubCommand sub = method.getAnnotation(SubCommand.class);
-                String[] path = Stream.concat(
-                        Arrays.stream(sub.commandPath()),
-                        Stream.of(sub.name())
-                ).filter(s -> s != null && !s.isEmpty()).toArray(String[]::new);
-
-                if (path.length > 0) {
-                    insertCommand(path, method, sub, commandClass);
-                }
-            }
+        for (CommandSpec spec : CommandScanner.scan(commandClass).getCommands()) {
+            insertCommand(spec.getPath(), spec, commandClass);
         }
     }
 
     protected void collectTabCompleteMethods(ICommand commandClass) {
-        for (Method method : commandClass.getClass().getDeclaredMethods()) {
-            if (method.isAnnotationPresent(SubCommandTab.class)) {
-                SubCommandTab tab = method.getAnnotation(SubCommandTab.class);
-                String[] path = Stream.concat(
-                        Arrays.stream(tab.commandPath()),
-                        Stream.of(tab.name())
-                ).filter(s -> s != null && !s.isEmpty()).toArray(String[]::new);
-
-                if (path.length > 0) {
-                    insertTabComplete(path, method, tab, commandClass);
-                }
-            }
+        for (TabSpec spec : CommandScanner.scan(commandClass).getTabCompletes()) {
+            insertTabComplete(spec.getPath(), spec, commandClass);
         }
     }
 
     protected void insertCommand(String[] path,Method method, SubCommand sub, Object owner){
+        insertCommand(path, CommandSpec.reflect(path, method, sub, owner), owner);
+    }
+
+    protected synchronized void insertCommand(String[] path, CommandSpec spec, Object owner){
         CommandNode commandNode = root.computeIfAbsent(path[0], k -> new CommandNode());
-        SubCommandInfo command = new SubCommandInfo(method, owner, sub.weight(), sub.permission(), sub.maxArgs(), 
-                sub.aliases(), sub.description(), sub.usage(), sub.senderType(), sub.completions());
+        SubCommandInfo command = new SubCommandInfo(spec, owner);
         String[] newPath = new String[path.length - 1];
         arraycopy(path, 1, newPath, 0, path.length - 1);
         commandNode.insertCommand(newPath, command);
-        for (String alias : sub.aliases()) {
+        for (String alias : spec.getAliases()) {
             String[] aliasPath = new String[path.length];
             arraycopy(path, 0, aliasPath, 0, path.length - 1);
             aliasPath[path.length - 1] = alias;
@@ -129,16 +347,16 @@ public abstract class BaseCommand implements TabExecutor, ICommand {
     }
 
     protected void insertTabComplete(String[] path, Method method, SubCommandTab tab, Object owner) {
-        CommandNode commandNode = root.computeIfAbsent(path[0], k -> new CommandNode());
-        TabCompleteInfo tabComplete = new TabCompleteInfo(method, owner, tab.permission(), tab.priority());
-        String[] newPath = new String[path.length - 1];
-        arraycopy(path, 1, newPath, 0, path.length - 1);
-        commandNode.insertTabComplete(newPath, tabComplete);
+        insertTabComplete(path, TabSpec.reflect(path, method, tab, owner), owner);
     }
 
     protected void insertTabComplete(String[] path, Method method, Object owner, String tabPermission, int tabPriority) {
+        insertTabComplete(path, TabSpec.reflect(path, method, owner, tabPermission, tabPriority), owner);
+    }
+
+    protected synchronized void insertTabComplete(String[] path, TabSpec spec, Object owner) {
         CommandNode commandNode = root.computeIfAbsent(path[0], k -> new CommandNode());
-        TabCompleteInfo tabComplete = new TabCompleteInfo(method, owner, tabPermission, tabPriority);
+        TabCompleteInfo tabComplete = new TabCompleteInfo(spec, owner);
         String[] newPath = new String[path.length - 1];
         arraycopy(path, 1, newPath, 0, path.length - 1);
         commandNode.insertTabComplete(newPath, tabComplete);
@@ -146,38 +364,37 @@ public abstract class BaseCommand implements TabExecutor, ICommand {
 
     @Override
     public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String arg, @NotNull String[] args) {
+        prepareDispatch(args, false, false);
+        CompiledNode compiledRoot = tree.getRoot();
         if (args.length > 0) {
-            String firstArg = args[0];
-            if (firstArg.equalsIgnoreCase("help")) {
-                int page = 1;
-                if (args.length > 1) {
-                    try {
-                        page = Integer.parseInt(args[1]);
-                    } catch (NumberFormatException ignored) {}
-                }
-                showHelp(sender, page);
-                return true;
-            }
-            CommandNode commandNode = root.get(firstArg);
-            List<String> wildcards = new ArrayList<>();
-            if (commandNode != null) {
-                String[] newArgs = new String[args.length - 1];
-                arraycopy(args, 1, newArgs, 0, args.length - 1);
-                if (commandNode.runSubCommand(newArgs, sender, new ArrayList<>(wildcards), messageHandler, getName(), firstArg, this)) {
+            try (InvocationContext context = InvocationContext.acquire(sender, args, messageHandler, getName(), this)) {
+                String firstArg = context.peek();
+                if (firstArg.equalsIgnoreCase("help")) {
+                    int page = 1;
+                    if (context.remaining() > 1) {
+                        try {
+                            page = Integer.parseInt(context.peek(1));
+                        } catch (NumberFormatException ignored) {}
+                    }
+                    showHelp(sender, page);
                     return true;
                 }
-            } else {
-                commandNode = root.get("*");
+                CompiledNode commandNode = compiledRoot.child(firstArg);
+                boolean captured = false;
+                if (commandNode == null) {
+                    commandNode = compiledRoot.getWildcard();
+                    captured = true;
+                }
                 if (commandNode != null) {
-                    List<String> capturedWildcards = new ArrayList<>(wildcards);
-                    capturedWildcards.add(firstArg);
-                    String[] newArgs = new String[args.length - 1];
-                    arraycopy(args, 1, newArgs, 0, args.length - 1);
-                    if (commandNode.runSubCommand(newArgs, sender, capturedWildcards, messageHandler, getName(), firstArg, this)) {
+                    context.advance();
+                    if (captured) {
+                        context.pushWildcard();
+                    }
+                    if (commandNode.runSubCommand(context)) {
                         return true;
                     }
                 } else {
-                    String suggestion = findSuggestion(firstArg, root.keySet());
+                    String suggestion = compiledRoot.findSuggestion(firstArg, context.getPermissions());
                     if (suggestion != null) {
                         showDidYouMean(sender, suggestion);
                         return true;
@@ -197,33 +414,123 @@ public abstract class BaseCommand implements TabExecutor, ICommand {
 
     @Override
     public @Nullable List<String> onTabComplete(@NotNull CommandSender commandSender, @NotNull Command command, @NotNull String s, @NotNull String[] strings) {
-        if(strings.length == 1) {
+        return resolveTabComplete(commandSender, strings, false);
+    }
+
+    /**
+     * Tab completion off the main thread, see {@link com.dami.easyCommands.internal.AsyncTabCompletion}. Returns null when the
+     * completion reaches a method, completer or provider that is not declared thread-safe; the
+     * caller then leaves it to {@link #onTabComplete} on the main thread.
+     */
+    public @Nullable List<String> tabCompleteAsync(@NotNull CommandSender commandSender, @NotNull String[] strings) {
+        return resolveTabComplete(commandSender, strings, true);
+    }
+
+    /**
+     * Whether {@link #tabComplete(CommandSender, String[])} may be called off the main thread.
+     * True unless a subclass overrides it; override this as well to declare an override safe.
+     */
+    protected boolean isTabCompleteThreadSafe() {
+        return DEFAULT_TAB_COMPLETE.get(getClass());
+    }
+
+    private static final ClassValue<Boolean> DEFAULT_TAB_COMPLETE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("tabComplete", CommandSender.class, String[].class).getDeclaringClass() == BaseCommand.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    /**
+     * Called before a command line is dispatched or completed, so commands registered lazily can
+     * be loaded first. Returns false when that has to happen on the main thread and this call is
+     * not on it.
+     *
+     * @param completing whether the last argument is still being typed
+     */
+    protected boolean prepareDispatch(String[] args, boolean completing, boolean async) {
+        return true;
+    }
+
+    private List<String> resolveTabComplete(CommandSender commandSender, String[] strings, boolean async) {
+        if (!prepareDispatch(strings, true, async)) {
+            return null;
+        }
+        CompiledNode compiledRoot = tree.getRoot();
+        try (InvocationContext context = InvocationContext.acquire(commandSender, strings, messageHandler, getName(), this)) {
+            if (async) {
+                context.markAsync();
+            }
+            // A plain word narrows the answer to what was typed, for every sender; quoted spans and
+            // flags do not narrow by plain prefix, and ranking does its own matching
+            String line = null;
+            String prefix = null;
+            CommandLexer lexer = context.getLexer();
+            if (!CompletionResolver.isRanked() && lexer.size() > 0 && lexer.kind(lexer.size() - 1) == CommandLexer.WORD
+                    && !strings[strings.length - 1].startsWith("-")) {
+                prefix = strings[strings.length - 1];
+            }
+            if (prefix != null && TabCache.isEnabled(commandSender)) {
+                line = String.join(" ", Arrays.asList(strings).subList(0, strings.length - 1));
+                List<String> cached = TabCache.lookup(commandSender, compiledRoot, line, prefix, context.getPermissions());
+                if (cached != null) {
+                    return cached;
+                }
+            }
+
+            List<String> suggestions = tabCompleteTree(compiledRoot, context, commandSender, strings);
+            if (context.isSyncRequired()) {
+                return null;
+            }
+            // Child keys, tab methods and providers are merged, so rank the whole list once more
+            if (CompletionResolver.isRanked() && suggestions != null && strings.length > 0) {
+                suggestions = RankedMatcher.rank(suggestions, strings[strings.length - 1], CompletionResolver.getRankedLimit());
+            }
+            if (prefix != null && suggestions != null) {
+                suggestions = TabCache.narrow(suggestions, prefix);
+                if (line != null) {
+                    TabCache.store(commandSender, compiledRoot, line, prefix, context.getPermissions(), suggestions);
+                }
+            }
+            return suggestions;
+        }
+    }
+
+    private List<String> tabCompleteTree(CompiledNode compiledRoot, InvocationContext context, CommandSender commandSender, String[] strings) {
+        if(context.remaining() <= 1) {
             List<String> tabComplete = new ArrayList<>();
-            for (Map.Entry<String, CommandNode> entry : root.entrySet()) {
-                if (entry.getKey().equals("*")) continue;
-                if (entry.getValue().isAccessible(commandSender)) {
-                    tabComplete.add(entry.getKey());
+            for (int i = 0; i < compiledRoot.size(); i++) {
+                if (compiledRoot.keyAt(i).equals(CompiledNode.WILDCARD)) continue;
+                if (compiledRoot.childAt(i).isAccessible(context.getPermissions())) {
+                    tabComplete.add(compiledRoot.keyAt(i));
                 }
             }
+            if (context.isAsync() && !isTabCompleteThreadSafe()) {
+                context.requireSync();
+                return null;
+            }
             tabComplete.addAll(tabComplete(commandSender, strings));
             return tabComplete;
         }
-        String firstArg = strings[0];
-        CommandNode commandNode = root.get(firstArg);
-        List<String> wildcards = new ArrayList<>();
-        if(commandNode != null){
-            String[] newPath = new String[strings.length - 1];
-            arraycopy(strings, 1, newPath, 0, strings.length - 1);
-            return commandNode.getTabComplete(newPath, commandSender, new ArrayList<>(wildcards));
+        String firstArg = context.peek();
+        CompiledNode commandNode = compiledRoot.child(firstArg);
+        boolean captured = false;
+        if (commandNode == null) {
+            commandNode = compiledRoot.getWildcard();
+            captured = true;
+        }
+        if (commandNode == null) {
+            return null;
         }
-        commandNode = root.get("*");
-        if (commandNode != null) {
-            wildcards.add(firstArg);
-            String[] newPath = new String[strings.length - 1];
-            arraycopy(strings, 1, newPath, 0, strings.length - 1);
-            return commandNode.getTabComplete(newPath, commandSender, wildcards);
+        context.advance();
+        if (captured) {
+            context.pushWildcard();
         }
-        return null;
+        return commandNode.getTabComplete(context);
     }
 
     public void showHelp(CommandSender sender) {
@@ -231,44 +538,7 @@ public abstract class BaseCommand implements TabExecutor, ICommand {
     }
 
     public void showHelp(CommandSender sender, int page) {
-        List<CommandNode.HelpEntry> entries = new ArrayList<>();
-        for (Map.Entry<String, CommandNode> entry : root.entrySet()) {
-            if (entry.getKey().equals("*")) continue;
-            if (entry.getValue().isAccessible(sender)) {
-                entry.getValue().collectHelp(sender, entry.getKey(), entries);
-            }
-        }
-        
-        int itemsPerPage = 7;
-        int maxPage = (int) Math.ceil(entries.size() / (double) itemsPerPage);
-        if (maxPage == 0) maxPage = 1;
-        
-        if (page < 1) page = 1;
-        if (page > maxPage) page = maxPage;
-
-        Map<String, String> placeholders = new HashMap<>();
-        placeholders.put("command", getName());
-        
-        messageHandler.sendMessage(sender, MessageKey.HELP_HEADER, placeholders);
-
-        int start = (page - 1) * itemsPerPage;
-        int end = Math.min(start + itemsPerPage, entries.size());
-
-        for (int i = start; i < end; i++) {
-            CommandNode.HelpEntry entry = entries.get(i);
-            Map<String, String> cmdPlaceholders = new HashMap<>(placeholders);
-            cmdPlaceholders.put("sub", entry.path);
-            cmdPlaceholders.put("description", entry.description);
-            cmdPlaceholders.put("usage", entry.usage);
-            messageHandler.sendMessage(sender, MessageKey.HELP_COMMAND_FORMAT, cmdPlaceholders);
-        }
-
-        placeholders.put("page", String.valueOf(page));
-        placeholders.put("max_page", String.valueOf(maxPage));
-        placeholders.put("next_page", String.valueOf(page < maxPage ? page + 1 : maxPage));
-        placeholders.put("prev_page", String.valueOf(page > 1 ? page - 1 : 1));
-        
-        messageHandler.sendMessage(sender, MessageKey.HELP_FOOTER, placeholders);
+        tree.getHelpIndex().show(sender, messageHandler, getName(), page);
     }
 
     protected String findSuggestion(String input, Set<String> options) {
@@ -276,7 +546,7 @@ public abstract class BaseCommand implements TabExecutor, ICommand {
         int bestDistance = Integer.MAX_VALUE;
         for (String option : options) {
             if (option.equals("*")) continue;
-            int distance = StringUtil.levenshteinDistance(input, option);
+            int distance = StringUtil.levenshteinDistance(input, option, 2);
             if (distance < bestDistance && distance <= 2) {
                 bestDistance = distance;
                 bestMatch = option;
@@ -292,7 +562,7 @@ public abstract class BaseCommand implements TabExecutor, ICommand {
         messageHandler.sendMessage(sender, MessageKey.DID_YOU_MEAN, placeholders);
     }
 
-    public String ConvertToObject(){
+    public synchronized String ConvertToObject(){
         Map<String,Object> result = new HashMap<>();
         root.forEach((s, commandNode) -> {
             result.put(s, commandNode.ConvertToObject());
@@ -1,11 +1,10 @@
 package com.dami.easyCommands.core;
 
+import com.dami.easyCommands.internal.RegistryTable;
 import com.dami.easyCommands.model.Condition;
-import java.util.HashMap;
-import java.util.Map;
 
 public class ConditionRegistry {
-    private static final Map<String, Condition> conditions = new HashMap<>();
+    private static final RegistryTable<String, Condition> conditions = new RegistryTable<>();
 
     public static void register(String id, Condition condition) {
         conditions.put(id.toLowerCase(), condition);
@@ -14,4 +13,11 @@ public class ConditionRegistry {
     public static Condition get(String id) {
         return conditions.get(id.toLowerCase());
     }
+
+    /**
+     * Turns the registry into an immutable table once startup registration is done.
+     */
+    public static void freeze() {
+        conditions.freeze();
+    }
 }
@@ -0,0 +1,61 @@
+package com.dami.easyCommands.core;
+
+import com.dami.easyCommands.internal.CommandSpec;
+import com.dami.easyCommands.internal.TabSpec;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds the {@link GeneratedDispatcher} of a command class. Generated classes are found by name
+ * on first use; classes without one (processor not enabled) are remembered and use reflection.
+ */
+public class DispatcherRegistry {
+    private static final GeneratedDispatcher<?> NONE = new GeneratedDispatcher<Object>() {
+        @Override public List<CommandSpec> commands(Object owner) { return null; }
+        @Override public List<TabSpec> tabCompletes(Object owner) { return null; }
+        @Override public String[] basePath() { return null; }
+        @Override public CommandSpec mainCommand(Object owner) { return null; }
+        @Override public TabSpec tabComplete(Object owner) { return null; }
+    };
+
+    public static final String SUFFIX = "_EasyCommandsDispatcher";
+
+    private static final Map<Class<?>, GeneratedDispatcher<?>> dispatchers = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a dispatcher explicitly, e.g. when generated classes were relocated.
+     */
+    public static <T> void register(Class<T> commandClass, GeneratedDispatcher<T> dispatcher) {
+        dispatchers.put(commandClass, dispatcher);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> GeneratedDispatcher<T> get(Class<T> commandClass) {
+        GeneratedDispatcher<?> dispatcher = dispatchers.computeIfAbsent(commandClass, DispatcherRegistry::load);
+        return dispatcher == NONE ? null : (GeneratedDispatcher<T>) dispatcher;
+    }
+
+    private static GeneratedDispatcher<?> load(Class<?> commandClass) {
+        if (commandClass.isAnonymousClass() || commandClass.isLocalClass()) {
+            return NONE;
+        }
+        String packageName = commandClass.getPackageName();
+        String simpleName = commandClass.getName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1).replace('$', '_');
+        String generatedName = (packageName.isEmpty() ? "" : packageName + ".") + simpleName + SUFFIX;
+        try {
+            Class<?> generated = Class.forName(generatedName, true, commandClass.getClassLoader());
+            if (!GeneratedDispatcher.class.isAssignableFrom(generated)) {
+                return NONE;
+            }
+            return (GeneratedDispatcher<?>) generated.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return NONE;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            System.err.println("Could not load generated dispatcher " + generatedName + ", falling back to reflection");
+            e.printStackTrace();
+            return NONE;
+        }
+    }
+}
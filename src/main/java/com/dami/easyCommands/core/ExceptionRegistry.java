@@ -1,11 +1,10 @@
 package com.dami.easyCommands.core;
 
+import com.dami.easyCommands.internal.RegistryTable;
 import com.dami.easyCommands.model.ExceptionHandler;
-import java.util.HashMap;
-import java.util.Map;
 
 public class ExceptionRegistry {
-    private static final Map<Class<? extends Throwable>, ExceptionHandler<?>> handlers = new HashMap<>();
+    private static final RegistryTable<Class<? extends Throwable>, ExceptionHandler<?>> handlers = new RegistryTable<>();
 
     public static <T extends Throwable> void register(Class<T> exceptionClass, ExceptionHandler<T> handler) {
         handlers.put(exceptionClass, handler);
@@ -23,4 +22,11 @@ public class ExceptionRegistry {
         }
         return null;
     }
+
+    /**
+     * Turns the registry into an immutable table once startup registration is done.
+     */
+    public static void freeze() {
+        handlers.freeze();
+    }
 }
@@ -0,0 +1,45 @@
+package com.dami.easyCommands.core;
+
+import com.dami.easyCommands.internal.CommandSpec;
+import com.dami.easyCommands.internal.TabSpec;
+
+import java.util.List;
+
+/**
+ * Registration data for one command class, generated at compile time by
+ * {@code com.dami.easyCommands.processor.EasyCommandsProcessor}. Specs carry literal annotation
+ * values and invokers that call the command methods directly, so registering a class with a
+ * generated dispatcher needs no reflection at all.
+ * <p>
+ * Generated classes are named {@code <Class>_EasyCommandsDispatcher} (nested classes joined with
+ * {@code _}) in the package of the command class and are picked up by {@link DispatcherRegistry}.
+ *
+ * @param <T> the command class
+ */
+public interface GeneratedDispatcher<T> {
+
+    /**
+     * The {@code @SubCommand} methods declared on the class, with paths relative to the class.
+     */
+    List<CommandSpec> commands(T owner);
+
+    /**
+     * The {@code @SubCommandTab} methods declared on the class, with paths relative to the class.
+     */
+    List<TabSpec> tabCompletes(T owner);
+
+    /**
+     * The path of a class annotated with {@code @SubCommand}, or null for plain command classes.
+     */
+    String[] basePath();
+
+    /**
+     * The {@code mainCommand} of a class annotated with {@code @SubCommand} (empty path), or null.
+     */
+    CommandSpec mainCommand(T owner);
+
+    /**
+     * The {@code tabComplete} of a class annotated with {@code @SubCommand} (empty path), or null.
+     */
+    TabSpec tabComplete(T owner);
+}
@@ -4,15 +4,16 @@ import com.dami.easyCommands.model.MessageKey;
 import org.bukkit.command.CommandSender;
 import java.util.HashMap;
 import java.util.Map;
-import net.kyori.adventure.text.minimessage.MiniMessage;
-import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
-import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import java.util.concurrent.ConcurrentHashMap;
+import net.kyori.adventure.text.Component;
 
 public interface MessageHandler {
     void sendMessage(CommandSender sender, MessageKey key, Map<String, String> placeholders);
 
     class DefaultMessageHandler implements MessageHandler {
         protected final Map<MessageKey, String> messages = new HashMap<>();
+        private final Map<MessageKey, MessageTemplate> templates = new ConcurrentHashMap<>();
+        private volatile int version;
 
         public DefaultMessageHandler() {
             messages.put(MessageKey.NO_PERMISSION, "<red>You don't have permission to use this command.</red>");
@@ -29,28 +30,54 @@ public interface MessageHandler {
             messages.put(MessageKey.DID_YOU_MEAN, "<red>Command not found. Did you mean /<command> <suggestion>?</red>");
             messages.put(MessageKey.COOLDOWN_ACTIVE, "<red>You must wait <time> seconds before using this again.</red>");
             messages.put(MessageKey.CONFIRMATION_REQUIRED, "<red>Are you sure? Run the exact same command again within <time> seconds to confirm.</red>");
+            messages.put(MessageKey.PROFILE_LOOKUP, "<yellow>Looking up player '<arg>', try again in a moment.</yellow>");
         }
 
         public String getRawMessage(MessageKey key) {
             return messages.get(key);
         }
 
+        /**
+         * The compiled template for a key. Templates are compiled on first use and dropped again by
+         * {@link #setMessage(MessageKey, String)}.
+         */
+        public MessageTemplate getTemplate(MessageKey key) {
+            MessageTemplate template = templates.get(key);
+            if (template == null) {
+                template = MessageTemplate.compile(messages.getOrDefault(key, "Message not found: " + key));
+                templates.put(key, template);
+            }
+            return template;
+        }
+
+        public Component render(MessageKey key, Map<String, String> placeholders) {
+            return getTemplate(key).render(placeholders);
+        }
+
         @Override
         public void sendMessage(CommandSender sender, MessageKey key, Map<String, String> placeholders) {
-            String message = messages.getOrDefault(key, "Message not found: " + key);
-            
-            TagResolver.Builder resolverBuilder = TagResolver.builder();
-            if (placeholders != null) {
-                for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-                    resolverBuilder.resolver(Placeholder.parsed(entry.getKey(), entry.getValue()));
-                }
-            }
-            
-            sender.sendMessage(MiniMessage.miniMessage().deserialize(message, resolverBuilder.build()));
+            sender.sendMessage(render(key, placeholders));
         }
 
         public void setMessage(MessageKey key, String message) {
             messages.put(key, message);
+            templates.remove(key);
+            version++;
+        }
+
+        /**
+         * Changes whenever a message changes, so rendered output cached elsewhere can be dropped.
+         */
+        public int getVersion() {
+            return version;
+        }
+
+        /**
+         * Drops every compiled template, for subclasses that change {@link #messages} directly.
+         */
+        protected void invalidateTemplates() {
+            templates.clear();
+            version++;
         }
     }
 }
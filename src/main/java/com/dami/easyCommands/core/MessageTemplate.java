@@ -0,0 +1,228 @@
+package com.dami.easyCommands.core;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * A MiniMessage string parsed once into a component tree with a slot for every placeholder
+ * ({@code <command>}, {@code <usage>}, ...). Rendering only swaps the slots for the placeholder
+ * values; the template itself is never parsed again.
+ * <p>
+ * Values are inserted the way {@code Placeholder.parsed} would show them: plain text stays text
+ * and a value containing tags is parsed on its own. A placeholder used inside another tag's
+ * argument (like {@code <click:run_command:/<command> help>}) cannot be a slot, so those templates
+ * are spliced back into a string and parsed per render, with the results cached by
+ * {@link #parse(String)}.
+ * <p>
+ * Templates are parsed without MiniMessage's compacting post-processor, which would merge a slot
+ * into neighbouring text of the same style; the rendered component is compacted instead.
+ */
+public final class MessageTemplate {
+
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+    private static final MiniMessage UNCOMPACTED = MiniMessage.builder().postProcessor(UnaryOperator.identity()).build();
+    private static final TagResolver STANDARD_TAGS = TagResolver.standard();
+
+    private static final char MARKER = '\uE000';
+    private static final int MAX_PARSED = 256;
+    // Least recently used parses are dropped first, so the strings in steady use stay cached
+    private static final Map<String, Component> PARSED = new LinkedHashMap<String, Component>(MAX_PARSED * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Component> eldest) {
+            return size() > MAX_PARSED;
+        }
+    };
+
+    private final String raw;
+    private final String[] literals;
+    private final String[] slots;
+    private final String[] slotNames;
+    private final Component tree;
+
+    private MessageTemplate(String raw, String[] literals, String[] slots, String[] slotNames, Component tree) {
+        this.raw = raw;
+        this.literals = literals;
+        this.slots = slots;
+        this.slotNames = slotNames;
+        this.tree = tree;
+    }
+
+    public static MessageTemplate compile(String raw) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        Map<String, Integer> slotIndexes = new LinkedHashMap<>();
+        boolean argumentSlot = false;
+
+        StringBuilder literal = new StringBuilder();
+        int depth = 0;
+        int i = 0;
+        while (i < raw.length()) {
+            char c = raw.charAt(i);
+            if (c == '\\' && i + 1 < raw.length()) {
+                literal.append(c).append(raw.charAt(i + 1));
+                i += 2;
+                continue;
+            }
+            if (c == '<') {
+                int end = slotEnd(raw, i);
+                if (end > 0) {
+                    String name = raw.substring(i + 1, end);
+                    if (!STANDARD_TAGS.has(name)) {
+                        literals.add(literal.toString());
+                        literal.setLength(0);
+                        slots.add(name);
+                        slotIndexes.putIfAbsent(name, slotIndexes.size());
+                        argumentSlot |= depth > 0;
+                        i = end + 1;
+                        continue;
+                    }
+                }
+                depth++;
+            } else if (c == '>' && depth > 0) {
+                depth--;
+            }
+            literal.append(c);
+            i++;
+        }
+        literals.add(literal.toString());
+
+        String[] slotNames = slotIndexes.keySet().toArray(new String[0]);
+        Component tree = null;
+        if (slotNames.length == 0) {
+            tree = MINI_MESSAGE.deserialize(raw);
+        } else if (!argumentSlot) {
+            TagResolver.Builder resolverBuilder = TagResolver.builder();
+            for (int slot = 0; slot < slotNames.length; slot++) {
+                resolverBuilder.resolver(Placeholder.component(slotNames[slot], Component.text(MARKER + Integer.toString(slot))));
+            }
+            tree = UNCOMPACTED.deserialize(raw, resolverBuilder.build());
+        }
+        return new MessageTemplate(raw, literals.toArray(new String[0]), slots.toArray(new String[0]), slotNames, tree);
+    }
+
+    /**
+     * Parses a MiniMessage string without placeholders, reusing the component from earlier calls.
+     * Meant for the fixed strings commands throw around, such as custom validation messages and
+     * hover texts.
+     */
+    public static Component parse(String miniMessage) {
+        Component component;
+        synchronized (PARSED) {
+            component = PARSED.get(miniMessage);
+        }
+        if (component == null) {
+            component = MINI_MESSAGE.deserialize(miniMessage);
+            synchronized (PARSED) {
+                PARSED.put(miniMessage, component);
+            }
+        }
+        return component;
+    }
+
+    public Component render(Map<String, String> placeholders) {
+        if (slotNames.length == 0) {
+            return tree;
+        }
+        if (tree == null) {
+            StringBuilder builder = new StringBuilder(raw.length() + 32);
+            for (int i = 0; i < slots.length; i++) {
+                builder.append(literals[i]);
+                String value = placeholders != null ? placeholders.get(slots[i]) : null;
+                builder.append(value != null ? value : "<" + slots[i] + ">");
+            }
+            builder.append(literals[slots.length]);
+            return parse(builder.toString());
+        }
+
+        Component[] values = new Component[slotNames.length];
+        for (int i = 0; i < slotNames.length; i++) {
+            String value = placeholders != null ? placeholders.get(slotNames[i]) : null;
+            if (value == null) {
+                values[i] = Component.text("<" + slotNames[i] + ">");
+            } else if (value.indexOf('<') < 0 && value.indexOf('\\') < 0) {
+                values[i] = Component.text(value);
+            } else {
+                values[i] = parse(value);
+            }
+        }
+        return substitute(tree, values).compact();
+    }
+
+    public String getRaw() {
+        return raw;
+    }
+
+    /**
+     * The distinct placeholder names in this template, in order of first use.
+     */
+    public String[] getSlotNames() {
+        return slotNames.clone();
+    }
+
+    private static Component substitute(Component component, Component[] values) {
+        if (component instanceof TextComponent) {
+            String content = ((TextComponent) component).content();
+            int slot = slotIndex(content);
+            if (slot >= 0) {
+                return values[slot];
+            }
+        }
+        List<Component> children = component.children();
+        List<Component> replaced = null;
+        for (int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Component substituted = substitute(child, values);
+            if (substituted != child) {
+                if (replaced == null) {
+                    replaced = new ArrayList<>(children);
+                }
+                replaced.set(i, substituted);
+            }
+        }
+        return replaced != null ? component.children(replaced) : component;
+    }
+
+    /**
+     * The slot a marker text stands for, or -1 when the text is anything else.
+     */
+    private static int slotIndex(String content) {
+        if (content.length() < 2 || content.charAt(0) != MARKER) {
+            return -1;
+        }
+        int slot = 0;
+        for (int i = 1; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            slot = slot * 10 + (c - '0');
+        }
+        return slot;
+    }
+
+    /**
+     * Index of the {@code >} closing a placeholder-shaped tag ({@code <name>}) at {@code start},
+     * or -1 when the tag has arguments, is a closing tag or contains other characters.
+     */
+    private static int slotEnd(String raw, int start) {
+        for (int i = start + 1; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '>') {
+                return i > start + 1 ? i : -1;
+            }
+            if (!(c >= 'a' && c <= 'z') && !(c >= '0' && c <= '9') && c != '_' && c != '-') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+}
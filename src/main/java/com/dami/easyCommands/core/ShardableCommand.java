@@ -1,14 +1,21 @@
 package com.dami.easyCommands.core;
 
 import com.dami.easyCommands.annotations.SubCommand;
-import com.dami.easyCommands.annotations.SubCommandTab;
+import com.dami.easyCommands.internal.CommandScanner;
+import com.dami.easyCommands.internal.CommandSpec;
+import com.dami.easyCommands.internal.CompiledNode;
+import com.dami.easyCommands.internal.TabSpec;
 import org.bukkit.command.CommandSender;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 public abstract class ShardableCommand extends BaseCommand {
 
@@ -79,7 +86,9 @@ public abstract class ShardableCommand extends BaseCommand {
         }
     }
 
-    protected final List<String> registeredSubCommandClasses = new ArrayList<>();
+    protected final List<String> registeredSubCommandClasses = Collections.synchronizedList(new ArrayList<>());
+    private final List<LazySubCommandClass> lazySubCommandClasses = new CopyOnWriteArrayList<>();
+    private final Map<String, CommandScanner.Scan> subCommandClassScans = new HashMap<>();
     private boolean autoGuiEnabled = false;
     private String autoGuiTitle = null;
     private IGuiLayout autoGuiLayout = new DefaultLayout();
@@ -129,14 +138,18 @@ public abstract class ShardableCommand extends BaseCommand {
     }
 
     public void openCommandNodeGui(org.bukkit.entity.Player player, String currentPath, String title) {
-        java.util.Map<String, com.dami.easyCommands.internal.CommandNode> currentNodes = getNodesForPath(currentPath);
-        if (currentNodes == null || currentNodes.isEmpty()) {
+        com.dami.easyCommands.internal.CompiledNode currentNode = getNodeForPath(currentPath);
+        if (currentNode == null || currentNode.size() == 0) {
             player.sendMessage("§cNo commands found in this menu.");
             return;
         }
 
-        java.util.List<java.util.Map.Entry<String, com.dami.easyCommands.internal.CommandNode>> sortedEntries = new java.util.ArrayList<>(currentNodes.entrySet());
+        java.util.List<java.util.Map.Entry<String, com.dami.easyCommands.internal.CompiledNode>> sortedEntries = new java.util.ArrayList<>(currentNode.size());
+        for (int i = 0; i < currentNode.size(); i++) {
+            sortedEntries.add(new java.util.AbstractMap.SimpleImmutableEntry<>(currentNode.keyAt(i), currentNode.childAt(i)));
+        }
         sortedEntries.sort(java.util.Map.Entry.comparingByKey());
+        com.dami.easyCommands.internal.PermissionSnapshot permissions = com.dami.easyCommands.internal.PermissionCache.snapshot(player);
 
         java.util.List<dev.triumphteam.gui.guis.GuiItem> layoutItems = new java.util.ArrayList<>();
         
@@ -161,12 +174,12 @@ public abstract class ShardableCommand extends BaseCommand {
 
         final dev.triumphteam.gui.guis.PaginatedGui[] guiHolder = new dev.triumphteam.gui.guis.PaginatedGui[1];
 
-        for (java.util.Map.Entry<String, com.dami.easyCommands.internal.CommandNode> entry : sortedEntries) {
+        for (java.util.Map.Entry<String, com.dami.easyCommands.internal.CompiledNode> entry : sortedEntries) {
             if (entry.getKey().equals("*")) continue;
-            if (!entry.getValue().isAccessible(player)) continue;
+            if (!entry.getValue().isAccessible(permissions)) continue;
 
             String subCommandName = entry.getKey();
-            com.dami.easyCommands.internal.CommandNode node = entry.getValue();
+            com.dami.easyCommands.internal.CompiledNode node = entry.getValue();
             com.dami.easyCommands.internal.SubCommandInfo info = node.getSubCommandInfo();
 
             if (info != null && info.getAliases() != null) {
@@ -209,11 +222,9 @@ public abstract class ShardableCommand extends BaseCommand {
                 
                 if (info.getCooldownSeconds() > 0) {
                     String bypass = info.getCooldownBypassPerm().isEmpty() ? fullExecutablePath.replace(" ", ".") + ".bypass.cooldown" : info.getCooldownBypassPerm();
-                    if (!player.hasPermission(bypass)) {
-                        if (com.dami.easyCommands.internal.CooldownManager.isOnCooldown(fullExecutablePath, player.getUniqueId())) {
-                            onCooldown = true;
-                            remainingCooldown = com.dami.easyCommands.internal.CooldownManager.getRemainingSeconds(fullExecutablePath, player.getUniqueId());
-                        }
+                    if (!permissions.has(bypass)) {
+                        remainingCooldown = com.dami.easyCommands.internal.CooldownManager.getRemainingSeconds(info.getCooldownId(), player.getUniqueId());
+                        onCooldown = remainingCooldown > 0;
                     }
                 }
 
@@ -277,11 +288,11 @@ public abstract class ShardableCommand extends BaseCommand {
                     itemBuilder.lore(net.kyori.adventure.text.Component.text("§7Sub-menu: View options for /" + getName() + " " + fullCommandPath));
                 }
                 java.util.List<String> childNames = new java.util.ArrayList<>();
-                for (java.util.Map.Entry<String, com.dami.easyCommands.internal.CommandNode> childEntry : node.nodes.entrySet()) {
-                    String childName = childEntry.getKey();
+                for (int i = 0; i < node.size(); i++) {
+                    String childName = node.keyAt(i);
                     if (childName.equals("*")) continue;
                     
-                    com.dami.easyCommands.internal.SubCommandInfo childInfo = childEntry.getValue().getSubCommandInfo();
+                    com.dami.easyCommands.internal.SubCommandInfo childInfo = node.childAt(i).getSubCommandInfo();
                     if (childInfo != null && childInfo.getAliases() != null) {
                         boolean isChildAlias = false;
                         for (String alias : childInfo.getAliases()) {
@@ -335,12 +346,7 @@ public abstract class ShardableCommand extends BaseCommand {
 
                 if (finalInfo.getRequiredArgs() > 0) {
                     try {
-                        java.lang.reflect.Method m = finalInfo.getClass().getDeclaredMethod("getMethod");
-                        m.setAccessible(true);
-                        java.lang.reflect.Method cmdMethod = (java.lang.reflect.Method) m.invoke(finalInfo);
-                        
-                        java.util.List<String> suggestions = com.dami.easyCommands.internal.CompletionResolver.resolve(
-                                 cmdMethod, player, new String[]{""}, null, finalInfo.getCompletions());
+                        java.util.List<String> suggestions = finalInfo.getTabComplete(player, new String[]{""}, null);
                         
                         if (suggestions != null && !suggestions.isEmpty()) {
                             dev.triumphteam.gui.guis.PaginatedGui subGui = dev.triumphteam.gui.guis.Gui.paginated()
@@ -468,82 +474,230 @@ public abstract class ShardableCommand extends BaseCommand {
         gui.open(player);
     }
 
-    private java.util.Map<String, com.dami.easyCommands.internal.CommandNode> getNodesForPath(String path) {
-        if (path.isEmpty()) return root;
-        String[] parts = path.split(" ");
-        java.util.Map<String, com.dami.easyCommands.internal.CommandNode> current = root;
-        for (String part : parts) {
-            com.dami.easyCommands.internal.CommandNode nextNode = current.get(part);
-            if (nextNode == null) return null;
-            current = nextNode.nodes;
+    private com.dami.easyCommands.internal.CompiledNode getNodeForPath(String path) {
+        com.dami.easyCommands.internal.CompiledNode current = getCompiledRoot();
+        if (path.isEmpty()) return current;
+        for (String part : path.split(" ")) {
+            current = current.child(part);
+            if (current == null) return null;
         }
         return current;
     }
 
     public void RegisterSubCommandClass(ICommand command){
-        if(registeredSubCommandClasses.contains(command.getClass().getName())){
+        registerSubCommandClasses(command);
+    }
+
+    /**
+     * Registers several sub command classes at once. Their annotations are read in parallel, then
+     * merged into the tree in the given order and published once, recompiling only the paths they
+     * register. Classes that are already registered are skipped; see
+     * {@link #getRegistrationTimings()} for what each one cost.
+     */
+    public synchronized void registerSubCommandClasses(ICommand... commands) {
+        List<ICommand> pending = new ArrayList<>(commands.length);
+        Set<String> names = new HashSet<>();
+        for (ICommand command : commands) {
+            String name = command.getClass().getName();
+            if (registeredSubCommandClasses.contains(name) || !names.add(name)) {
+                continue;
+            }
+            if (!command.getClass().isAnnotationPresent(SubCommand.class)) {
+                throw new IllegalArgumentException("The class " + name + " is not annotated with @SubCommand");
+            }
+            pending.add(command);
+        }
+        if (pending.isEmpty()) {
             return;
         }
-        registeredSubCommandClasses.add(command.getClass().getName());
-        if(command.getClass().isAnnotationPresent(SubCommand.class)){
-            collectSubClassCommands(command);
-            collectSubClassTabCompleteMethods(command);
-        } else {
-            throw new IllegalArgumentException("The class " + command.getClass().getName() + " is not annotated with @SubCommand");
+        List<String[]> touched = new ArrayList<>();
+        for (CommandScanner.Scan scan : CommandScanner.scanSubCommandClasses(pending)) {
+            registeredSubCommandClasses.add(scan.getClassName());
+            subCommandClassScans.put(scan.getClassName(), scan);
+            merge(scan);
+            touched.addAll(touchedPaths(scan));
         }
+        publish(touched);
     }
 
-    protected void collectSubClassCommands(ICommand commandClass) {
-        SubCommand subCommandClassContext = commandClass.getClass().getAnnotation(SubCommand.class);
-        String[] basePath = Stream.concat(
-                Arrays.stream(subCommandClassContext.commandPath()),
-                Stream.of(subCommandClassContext.name())
-        ).filter(s -> s != null && !s.isEmpty()).toArray(String[]::new);
+    /**
+     * Removes a sub command class again, whether it was loaded yet or not. The commands and tab
+     * completions it registered are cleared from the tree, and only their paths are recompiled:
+     * the rest of the tree is shared with the previous snapshot, so toggling a module costs the
+     * depth of its paths. A command another class registered over one of its paths is kept.
+     *
+     * @return whether the class was registered
+     */
+    public synchronized boolean unregisterSubCommandClass(Class<? extends ICommand> type) {
+        if (!registeredSubCommandClasses.remove(type.getName())) {
+            return false;
+        }
+        List<String[]> touched = new ArrayList<>();
+        for (LazySubCommandClass lazy : lazySubCommandClasses) {
+            if (lazy.type == type) {
+                lazySubCommandClasses.remove(lazy);
+                touched.addAll(lazy.placeholderPaths());
+            }
+        }
+        // Placeholders are owned by this command; the loaded class replaces them at the same path
+        for (String[] path : touched) {
+            removeFromBuilder(path, info -> info.getOwner() == this, null);
+        }
+        CommandScanner.Scan scan = subCommandClassScans.remove(type.getName());
+        if (scan != null) {
+            ICommand owner = scan.getOwner();
+            for (CommandSpec spec : scan.getCommands()) {
+                for (String[] path : commandPaths(spec)) {
+                    removeFromBuilder(path, info -> info.getOwner() == owner, null);
+                    touched.add(path);
+                }
+            }
+            for (TabSpec spec : scan.getTabCompletes()) {
+                removeFromBuilder(spec.getPath(), null, info -> info.getOwner() == owner);
+                touched.add(spec.getPath());
+            }
+        }
+        publish(touched);
+        return true;
+    }
 
-        try {
-            Method mainMethod = commandClass.getClass().getMethod("mainCommand", CommandSender.class, String[].class);
-            insertCommand(basePath, mainMethod, subCommandClassContext, commandClass);
-        } catch (NoSuchMethodException e) {
-            throw new IllegalArgumentException("The class " + commandClass.getClass().getName() + " has no mainCommand method", e);
-        }
-
-        for (Method method : commandClass.getClass().getDeclaredMethods()) {
-            if (method.isAnnotationPresent(SubCommand.class)) {
-                SubCommand sub = method.getAnnotation(SubCommand.class);
-                String[] path = Stream.concat(
-                        Stream.concat(Arrays.stream(basePath), Arrays.stream(sub.commandPath())),
-                        Stream.of(sub.name())
-                ).filter(s -> s != null && !s.isEmpty()).toArray(String[]::new);
-                if (path.length > 0) {
-                    insertCommand(path, method, sub, commandClass);
+    /**
+     * Registers a sub command class without creating it. Only the class annotation is read: a
+     * placeholder at the class path shows up in completion, help and the Auto-GUI, and the
+     * supplier is called (and the class scanned) the first time a command line enters that path.
+     */
+    public synchronized <T extends ICommand> void registerSubCommandClass(Class<T> type, Supplier<? extends T> supplier) {
+        if (registeredSubCommandClasses.contains(type.getName())) {
+            return;
+        }
+        LazySubCommandClass lazy = new LazySubCommandClass(type, supplier);
+        registeredSubCommandClasses.add(type.getName());
+        lazySubCommandClasses.add(lazy);
+        insertCommand(lazy.basePath, CommandScanner.placeholder(type, args -> {
+            // Reached only when a caller skipped prepareDispatch, e.g. a GUI click on the placeholder
+            load(lazy).mainCommand((CommandSender) args[0], (String[]) args[1]);
+            return null;
+        }), this);
+        publish(lazy.placeholderPaths());
+    }
+
+    /**
+     * Whether a class registered with {@link #registerSubCommandClass(Class, Supplier)} was created yet.
+     */
+    public boolean isSubCommandClassLoaded(Class<? extends ICommand> type) {
+        for (LazySubCommandClass lazy : lazySubCommandClasses) {
+            if (lazy.type == type) {
+                return false;
+            }
+        }
+        return registeredSubCommandClasses.contains(type.getName());
+    }
+
+    @Override
+    protected boolean prepareDispatch(String[] args, boolean completing, boolean async) {
+        if (lazySubCommandClasses.isEmpty()) {
+            return true;
+        }
+        for (LazySubCommandClass lazy : lazySubCommandClasses) {
+            if (lazy.enteredBy(args, completing)) {
+                // Constructors of module classes may touch the server, keep them on the main thread
+                if (async) {
+                    return false;
+                }
+                try {
+                    load(lazy);
+                } catch (RuntimeException e) {
+                    System.err.println("Error while loading sub command class " + lazy.type.getName());
+                    e.printStackTrace();
                 }
             }
         }
+        return true;
     }
 
-    protected void collectSubClassTabCompleteMethods(ICommand commandClass) {
-        SubCommand subCommandClassContext = commandClass.getClass().getAnnotation(SubCommand.class);
-        String[] basePath = Stream.concat(
-                Arrays.stream(subCommandClassContext.commandPath()),
-                Stream.of(subCommandClassContext.name())
-        ).filter(s -> s != null && !s.isEmpty()).toArray(String[]::new);
+    private synchronized ICommand load(LazySubCommandClass lazy) {
+        if (lazy.instance != null) {
+            return lazy.instance;
+        }
+        ICommand instance = lazy.supplier.get();
+        if (instance == null) {
+            throw new IllegalStateException("The supplier of " + lazy.type.getName() + " returned null");
+        }
+        // The real mainCommand replaces the placeholder at the same path
+        CommandScanner.Scan scan = CommandScanner.scanSubCommandClass(instance);
+        merge(scan);
+        subCommandClassScans.put(scan.getClassName(), scan);
+        lazy.instance = instance;
+        lazySubCommandClasses.remove(lazy);
+        publish(touchedPaths(scan));
+        return instance;
+    }
 
-        try {
-            Method tabComplete = commandClass.getClass().getMethod("tabComplete", CommandSender.class, String[].class);
-            insertTabComplete(basePath, tabComplete, commandClass, subCommandClassContext.permission(), 100);
-        } catch (NoSuchMethodException e) {
-            throw new IllegalArgumentException("The class " + commandClass.getClass().getName() + " has no tabComplete method", e);
-        }
-
-        for (Method method : commandClass.getClass().getDeclaredMethods()) {
-            if (method.isAnnotationPresent(SubCommandTab.class)) {
-                SubCommandTab tab = method.getAnnotation(SubCommandTab.class);
-                String[] path = Stream.concat(
-                        Stream.concat(Arrays.stream(basePath), Arrays.stream(tab.commandPath())),
-                        Stream.of(tab.name())
-                ).filter(s -> s != null && !s.isEmpty()).toArray(String[]::new);
-                insertTabComplete(path, method, tab, commandClass);
+    private static final class LazySubCommandClass {
+        private final Class<? extends ICommand> type;
+        private final Supplier<? extends ICommand> supplier;
+        private final String[] basePath;
+        private final String[] aliases;
+        private volatile ICommand instance;
+
+        LazySubCommandClass(Class<? extends ICommand> type, Supplier<? extends ICommand> supplier) {
+            this.type = type;
+            this.supplier = supplier;
+            this.basePath = CommandScanner.basePath(type);
+            this.aliases = type.getAnnotation(SubCommand.class).aliases();
+        }
+
+        List<String[]> placeholderPaths() {
+            List<String[]> paths = new ArrayList<>(1 + aliases.length);
+            paths.add(basePath);
+            for (String alias : aliases) {
+                String[] aliasPath = basePath.clone();
+                aliasPath[basePath.length - 1] = alias;
+                paths.add(aliasPath);
+            }
+            return paths;
+        }
+
+        /**
+         * Whether the arguments reach the class path: all of it to run a command, and past it
+         * while the last argument is still being completed.
+         */
+        boolean enteredBy(String[] args, boolean completing) {
+            int needed = completing ? basePath.length + 1 : basePath.length;
+            if (basePath.length == 0 || args.length < needed) {
+                return false;
+            }
+            for (int i = 0; i < basePath.length - 1; i++) {
+                if (!matches(basePath[i], args[i])) {
+                    return false;
+                }
+            }
+            String last = args[basePath.length - 1];
+            if (matches(basePath[basePath.length - 1], last)) {
+                return true;
+            }
+            for (String alias : aliases) {
+                if (alias.equalsIgnoreCase(last)) {
+                    return true;
+                }
             }
+            return false;
+        }
+
+        private static boolean matches(String segment, String arg) {
+            return segment.equals(CompiledNode.WILDCARD) || segment.equalsIgnoreCase(arg);
+        }
+    }
+
+    protected void collectSubClassCommands(ICommand commandClass) {
+        for (CommandSpec spec : CommandScanner.scanSubCommandClass(commandClass).getCommands()) {
+            insertCommand(spec.getPath(), spec, commandClass);
+        }
+    }
+
+    protected void collectSubClassTabCompleteMethods(ICommand commandClass) {
+        for (TabSpec spec : CommandScanner.scanSubCommandClass(commandClass).getTabCompletes()) {
+            insertTabComplete(spec.getPath(), spec, commandClass);
         }
     }
 }
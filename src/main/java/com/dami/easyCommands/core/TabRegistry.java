@@ -1,28 +1,57 @@
 package com.dami.easyCommands.core;
 
+import com.dami.easyCommands.internal.RegistryTable;
 import org.bukkit.command.CommandSender;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class TabRegistry {
-    private static final Map<String, TabCompleter> registry = new HashMap<>();
+    private static final RegistryTable<String, Entry> registry = new RegistryTable<>();
 
     public static void register(String key, TabCompleter completer) {
-        registry.put(key, completer);
+        register(key, completer, false);
+    }
+
+    /**
+     * @param threadSafe whether the completer may be called off the main thread by async tab completion
+     */
+    public static void register(String key, TabCompleter completer, boolean threadSafe) {
+        registry.put(key, new Entry(completer, threadSafe));
+    }
+
+    public static boolean isThreadSafe(String key) {
+        Entry entry = registry.get(key);
+        return entry != null && entry.threadSafe;
     }
 
     public static List<String> getCompletions(String key, CommandSender sender) {
-        TabCompleter completer = registry.get(key);
-        if (completer != null) {
-            return completer.complete(sender);
+        Entry entry = registry.get(key);
+        if (entry != null) {
+            return entry.completer.complete(sender);
         }
         return null;
     }
 
+    /**
+     * Turns the registry into an immutable table once startup registration is done.
+     */
+    public static void freeze() {
+        registry.freeze();
+    }
+
     @FunctionalInterface
     public interface TabCompleter {
         List<String> complete(CommandSender sender);
     }
+
+    // Completer and flag are published together, so a reader never sees one without the other
+    private static final class Entry {
+        private final TabCompleter completer;
+        private final boolean threadSafe;
+
+        Entry(TabCompleter completer, boolean threadSafe) {
+            this.completer = completer;
+            this.threadSafe = threadSafe;
+        }
+    }
 }
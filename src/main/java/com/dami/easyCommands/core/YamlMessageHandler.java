@@ -8,7 +8,7 @@ import java.io.IOException;
 
 public class YamlMessageHandler extends MessageHandler.DefaultMessageHandler {
     private final File file;
-    private final YamlConfiguration config;
+    private YamlConfiguration config;
 
     public YamlMessageHandler(File file) {
         super();
@@ -17,6 +17,15 @@ public class YamlMessageHandler extends MessageHandler.DefaultMessageHandler {
         loadOrSave();
     }
 
+    /**
+     * Re-reads the message file, picking up edits made while the server is running.
+     */
+    public void reload() {
+        this.config = YamlConfiguration.loadConfiguration(file);
+        loadOrSave();
+        invalidateTemplates();
+    }
+
     private void loadOrSave() {
         boolean saveNeeded = false;
         for (MessageKey key : MessageKey.values()) {
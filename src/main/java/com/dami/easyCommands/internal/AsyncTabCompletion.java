@@ -0,0 +1,109 @@
+package com.dami.easyCommands.internal;
+
+import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
+import com.dami.easyCommands.core.BaseCommand;
+import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers Paper's {@link AsyncTabCompleteEvent} for EasyCommands labels, so completions are
+ * resolved on the netty thread instead of the tick loop.
+ * <p>
+ * Only code declared thread-safe runs here: {@link com.dami.easyCommands.annotations.SubCommandTab#threadSafe()},
+ * {@link com.dami.easyCommands.core.TabRegistry#register(String, com.dami.easyCommands.core.TabRegistry.TabCompleter, boolean)},
+ * {@link CompletionResolver#registerProvider(String, com.dami.easyCommands.model.CompletionProvider, boolean)}
+ * and the static providers. When a completion reaches anything else the event is left unhandled
+ * and Paper calls {@link BaseCommand#onTabComplete} on the main thread as before.
+ */
+public class AsyncTabCompletion implements Listener {
+
+    private static final Map<String, Target> targets = new ConcurrentHashMap<>();
+    private static volatile boolean registered = false;
+
+    /**
+     * Routes the labels of the given commands (name, aliases and {@code plugin:name} forms) to async
+     * completion. Call on the main thread after the commands have been registered with Bukkit.
+     */
+    public static synchronized void enable(Plugin plugin, BaseCommand... commands) {
+        for (BaseCommand command : commands) {
+            PluginCommand bukkitCommand = Bukkit.getPluginCommand(command.getName());
+            Target target = new Target(command, bukkitCommand);
+            String prefix = plugin.getName().toLowerCase() + ":";
+            addLabel(prefix, command.getName(), target);
+            if (bukkitCommand != null) {
+                for (String alias : bukkitCommand.getAliases()) {
+                    addLabel(prefix, alias, target);
+                }
+            }
+        }
+        if (!registered) {
+            Bukkit.getPluginManager().registerEvents(new AsyncTabCompletion(), plugin);
+            registered = true;
+        }
+    }
+
+    public static void disable(BaseCommand command) {
+        targets.values().removeIf(target -> target.command == command);
+    }
+
+    private static void addLabel(String prefix, String label, Target target) {
+        String lower = label.toLowerCase();
+        targets.put(lower, target);
+        targets.put(prefix + lower, target);
+    }
+
+    @EventHandler
+    public void onAsyncTabComplete(AsyncTabCompleteEvent event) {
+        if (event.isHandled() || !event.isCommand()) {
+            return;
+        }
+        String buffer = event.getBuffer();
+        int start = buffer.startsWith("/") ? 1 : 0;
+        int space = buffer.indexOf(' ', start);
+        if (space < 0) {
+            return; // still typing the label, the server completes that
+        }
+        Target target = targets.get(buffer.substring(start, space).toLowerCase());
+        if (target == null) {
+            return;
+        }
+        CommandSender sender = event.getSender();
+        if (target.bukkitCommand != null && !target.bukkitCommand.testPermissionSilent(sender)) {
+            return;
+        }
+
+        String[] args = buffer.substring(space + 1).split(" ", -1);
+        List<String> completions;
+        try {
+            completions = target.command.tabCompleteAsync(sender, args);
+        } catch (Throwable e) {
+            System.err.println("Error while completing " + buffer + " asynchronously, falling back to the main thread");
+            e.printStackTrace();
+            return;
+        }
+        if (completions == null) {
+            return;
+        }
+        event.setCompletions(completions);
+        event.setHandled(true);
+    }
+
+    private static final class Target {
+        private final BaseCommand command;
+        private final Command bukkitCommand;
+
+        Target(BaseCommand command, Command bukkitCommand) {
+            this.command = command;
+            this.bukkitCommand = bukkitCommand;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.dami.easyCommands.internal;
+
+import com.dami.easyCommands.core.BaseCommand;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.arguments.DoubleArgumentType;
+import com.mojang.brigadier.arguments.FloatArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.LongArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import io.papermc.paper.plugin.lifecycle.event.types.LifecycleEvents;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Mirrors a command's compiled tree as Brigadier nodes for Paper's command registrar. Sub-commands
+ * become literals and numeric parameters native argument types, so the client completes literals
+ * and checks the syntax of numbers itself.
+ * <p>
+ * Every node executes by handing the typed line to {@link BaseCommand#onCommand}, so flags,
+ * conditions, cooldowns and messages behave as for a plugin.yml command. Everything else ends in a
+ * single greedy argument completed by {@link BaseCommand#onTabComplete}: wildcards, string-like
+ * and player parameters (Brigadier's unquoted word rejects values such as {@code minecraft:stone},
+ * its player argument parses selectors the converter cannot resolve), and methods whose arguments
+ * cannot be described up front (flags, {@code String[]} tails, {@code @SubCommandTab} methods).
+ * Every node without a wildcard also gets that greedy argument as a fallback, so tokens that match
+ * no literal still reach {@code onCommand} and get its "did you mean" and not-found messages
+ * instead of Brigadier's own error.
+ * <p>
+ * The tree is built each time Paper asks for commands, at startup and on reload. Sub-commands
+ * added after that are reached through their parent's fallback argument; literals of removed
+ * ones look their node up in the current tree and are hidden once it is gone. Brigadier literals
+ * are case-sensitive, unlike the command tree itself.
+ */
+public final class BrigadierTree {
+
+    private static final String WILDCARD_ARGUMENT = "value";
+    private static final String GREEDY_ARGUMENT = "args";
+
+    private BrigadierTree() {
+    }
+
+    /**
+     * Registers the commands through Paper's lifecycle registrar. The commands must not also be
+     * declared in plugin.yml.
+     */
+    public static void register(Plugin plugin, BaseCommand... commands) {
+        register(plugin, List.of(), commands);
+    }
+
+    public static void register(Plugin plugin, Collection<String> aliases, BaseCommand... commands) {
+        plugin.getLifecycleManager().registerEventHandler(LifecycleEvents.COMMANDS, event -> {
+            Commands registrar = event.registrar();
+            for (BaseCommand command : commands) {
+                registrar.register(build(command), command.getDescription(), aliases);
+            }
+        });
+    }
+
+    public static LiteralCommandNode<CommandSourceStack> build(BaseCommand command) {
+        CompiledNode root = command.getCompiledRoot();
+        LiteralArgumentBuilder<CommandSourceStack> literal = Commands.literal(command.getName().toLowerCase());
+        literal.executes(context -> execute(command, context));
+        if (root.child("help") == null) {
+            literal.then(Commands.literal("help")
+                    .executes(context -> execute(command, context))
+                    .then(Commands.argument("page", IntegerArgumentType.integer(1))
+                            .executes(context -> execute(command, context))));
+        }
+        populate(command, root, new String[0], literal);
+        return literal.build();
+    }
+
+    private static void addChildren(BaseCommand command, CompiledNode node, String[] path, ArgumentBuilder<CommandSourceStack, ?> builder) {
+        for (int i = 0; i < node.size(); i++) {
+            String[] childPath = Arrays.copyOf(path, path.length + 1);
+            childPath[path.length] = node.keyAt(i);
+            boolean wildcard = node.keyAt(i).equals(CompiledNode.WILDCARD);
+            ArgumentBuilder<CommandSourceStack, ?> childBuilder;
+            if (wildcard) {
+                // A word argument would refuse values like a:b or hi!, so the wildcard takes the rest
+                // of the line and onCommand resolves whatever follows it
+                childBuilder = Commands.argument(WILDCARD_ARGUMENT, StringArgumentType.greedyString())
+                        .suggests(suggestions(command))
+                        .executes(context -> execute(command, context));
+            } else {
+                childBuilder = Commands.literal(node.keyAt(i));
+            }
+            // Looked up in the current tree, so a sub-command removed since the build is hidden
+            childBuilder.requires(source -> {
+                CompiledNode current = lookup(command, childPath);
+                return current != null && current.isAccessible(source.getSender());
+            });
+            if (!wildcard) {
+                populate(command, node.childAt(i), childPath, childBuilder);
+            }
+            builder.then(childBuilder);
+        }
+    }
+
+    private static void populate(BaseCommand command, CompiledNode node, String[] path, ArgumentBuilder<CommandSourceStack, ?> builder) {
+        builder.executes(context -> execute(command, context));
+        addChildren(command, node, path, builder);
+
+        // A wildcard child already takes the next token; a second argument would make it ambiguous
+        if (node.getWildcard() != null) {
+            return;
+        }
+        SubCommandInfo info = node.getSubCommandInfo();
+        List<ParameterSpec> positionals = info != null ? positionals(info.getParameters()) : null;
+        // With literal children, a token that is not an argument may be a mistyped or newer sub-command
+        if (positionals == null || node.getTabCompleteInfo() != null || node.size() > 0) {
+            builder.then(greedy(command));
+            return;
+        }
+
+        // Typed arguments up to the first one Brigadier cannot parse natively, then one greedy tail
+        // that takes the remaining arguments and anything typed past the last one
+        int typed = 0;
+        while (typed < positionals.size() && argumentType(positionals.get(typed)) != null) {
+            typed++;
+        }
+        ArgumentBuilder<CommandSourceStack, ?> next = greedy(command);
+        for (int i = typed - 1; i >= 0; i--) {
+            ParameterSpec param = positionals.get(i);
+            RequiredArgumentBuilder<CommandSourceStack, ?> argument = Commands.argument(argumentName(param, i), argumentType(param));
+            argument.executes(context -> execute(command, context));
+            argument.then(next);
+            next = argument;
+        }
+        builder.then(next);
+    }
+
+    private static CompiledNode lookup(BaseCommand command, String[] path) {
+        CompiledNode node = command.getCompiledRoot();
+        for (int i = 0; i < path.length && node != null; i++) {
+            node = node.child(path[i]);
+        }
+        return node;
+    }
+
+    /**
+     * The parameters read from the command line in order, or null when the method reads flags, a
+     * {@code String[]} tail, or a player that depends on who sends the command.
+     */
+    private static List<ParameterSpec> positionals(ParameterSpec[] parameters) {
+        List<ParameterSpec> positionals = new ArrayList<>();
+        for (int i = 0; i < parameters.length; i++) {
+            ParameterSpec param = parameters[i];
+            Class<?> type = param.getType();
+            if (param.isFlag() || (type.isArray() && type.getComponentType() == String.class)
+                    || (Player.class.isAssignableFrom(type) && i == 0)) {
+                return null;
+            }
+            if (param.isSession() || param.isSender()
+                    || (CommandSender.class.isAssignableFrom(type) && !Player.class.isAssignableFrom(type))) {
+                continue;
+            }
+            positionals.add(param);
+        }
+        return positionals;
+    }
+
+    private static String argumentName(ParameterSpec param, int index) {
+        return param.getName() != null && !param.getName().isEmpty() ? param.getName() : "arg" + index;
+    }
+
+    private static ArgumentBuilder<CommandSourceStack, ?> greedy(BaseCommand command) {
+        return Commands.argument(GREEDY_ARGUMENT, StringArgumentType.greedyString())
+                .suggests(suggestions(command))
+                .executes(context -> execute(command, context));
+    }
+
+    /**
+     * The native argument type for a parameter, or null when none accepts exactly what the
+     * ParameterResolver converter accepts: strings, enums, materials and offline players can hold
+     * characters like {@code :} or {@code !} that Brigadier's unquoted word rejects, and the player
+     * argument accepts selectors such as {@code @p} that the Player converter cannot resolve.
+     */
+    private static ArgumentType<?> argumentType(ParameterSpec param) {
+        Class<?> type = param.getType();
+        if (type == int.class || type == Integer.class) {
+            int min = param.hasMin() ? (int) Math.max(Math.ceil(param.getMin()), Integer.MIN_VALUE) : Integer.MIN_VALUE;
+            int max = param.hasMax() ? (int) Math.min(Math.floor(param.getMax()), Integer.MAX_VALUE) : Integer.MAX_VALUE;
+            return IntegerArgumentType.integer(min, max);
+        }
+        if (type == long.class || type == Long.class) {
+            long min = param.hasMin() ? (long) Math.ceil(param.getMin()) : Long.MIN_VALUE;
+            long max = param.hasMax() ? (long) Math.floor(param.getMax()) : Long.MAX_VALUE;
+            return LongArgumentType.longArg(min, max);
+        }
+        if (type == double.class || type == Double.class) {
+            return DoubleArgumentType.doubleArg(param.hasMin() ? param.getMin() : -Double.MAX_VALUE,
+                    param.hasMax() ? param.getMax() : Double.MAX_VALUE);
+        }
+        if (type == float.class || type == Float.class) {
+            return FloatArgumentType.floatArg(param.hasMin() ? (float) param.getMin() : -Float.MAX_VALUE,
+                    param.hasMax() ? (float) param.getMax() : Float.MAX_VALUE);
+        }
+        return null;
+    }
+
+    private static SuggestionProvider<CommandSourceStack> suggestions(BaseCommand command) {
+        return (context, builder) -> {
+            String input = builder.getInput();
+            SuggestionsBuilder token = builder.createOffset(input.lastIndexOf(' ') + 1);
+            List<String> suggestions = command.onTabComplete(context.getSource().getSender(), null, label(input), arguments(input));
+            if (suggestions != null) {
+                for (String suggestion : suggestions) {
+                    token.suggest(suggestion);
+                }
+            }
+            return token.buildFuture();
+        };
+    }
+
+    // onCommand does not use the Bukkit command, there is none for a Brigadier registration
+    private static int execute(BaseCommand command, CommandContext<CommandSourceStack> context) {
+        String input = context.getInput();
+        command.onCommand(context.getSource().getSender(), null, label(input), arguments(input));
+        return com.mojang.brigadier.Command.SINGLE_SUCCESS;
+    }
+
+    private static String label(String input) {
+        int start = input.startsWith("/") ? 1 : 0;
+        int space = input.indexOf(' ', start);
+        return space < 0 ? input.substring(start) : input.substring(start, space);
+    }
+
+    private static String[] arguments(String input) {
+        int space = input.indexOf(' ');
+        if (space < 0) {
+            return new String[0];
+        }
+        return input.substring(space + 1).split(" ", -1);
+    }
+}
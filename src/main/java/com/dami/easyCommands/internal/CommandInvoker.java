@@ -0,0 +1,44 @@
+package com.dami.easyCommands.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Invokes a command or tab-complete method with already resolved arguments.
+ * Exceptions thrown by the target method are rethrown as-is (never wrapped).
+ */
+@FunctionalInterface
+public interface CommandInvoker {
+
+    Object invoke(Object[] args) throws Throwable;
+
+    /**
+     * Binds a method to its owner once, at registration time. The result is a {@link MethodHandle}
+     * spread over the argument array, so calls skip reflective access checks and can be inlined.
+     */
+    static CommandInvoker bind(Method method, Object owner) {
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                handle = handle.bindTo(owner);
+            }
+            MethodHandle spread = handle.asSpreader(Object[].class, method.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            return args -> (Object) spread.invokeExact(args);
+        } catch (IllegalAccessException | RuntimeException e) {
+            // Fall back to reflection, unwrapping so handlers see the same exception either way
+            return args -> {
+                try {
+                    return method.invoke(owner, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.dami.easyCommands.internal;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass lexer over the raw arguments Bukkit hands us. It joins {@code "quoted spans"} into
+ * single tokens, classifies flag-like tokens ({@code -s}, {@code -abc}, {@code -r=5},
+ * {@code --silent}) and records where every token starts in the original command line.
+ * <p>
+ * Buffers are reused between calls, and when nothing is quoted the raw array is used as-is, so
+ * lexing a typical command allocates nothing. Whether a flag-like token actually is a flag is
+ * decided by the method that declares the {@code @Flag}s; the lexer only tells them apart from
+ * words and negative numbers.
+ */
+public final class CommandLexer {
+
+    public static final byte WORD = 0;
+    public static final byte QUOTED = 1;
+    public static final byte SHORT_FLAG = 2;
+    public static final byte LONG_FLAG = 3;
+
+    private static final String[] NO_TOKENS = new String[0];
+
+    private String[] raw = NO_TOKENS;
+    private String[] tokens = NO_TOKENS;
+    private String[] buffer = NO_TOKENS;
+    private int[] offsets = new int[8];
+    private byte[] kinds = new byte[8];
+    private int count;
+
+    public static CommandLexer of(String[] args) {
+        CommandLexer lexer = new CommandLexer();
+        lexer.lex(args);
+        return lexer;
+    }
+
+    public void lex(String[] args) {
+        raw = args;
+        tokens = args;
+        count = 0;
+        if (offsets.length < args.length) {
+            offsets = new int[args.length];
+            kinds = new byte[args.length];
+        }
+
+        int position = 0;
+        for (int i = 0; i < args.length; i++) {
+            String token = args[i];
+            int start = position;
+            position += token.length() + 1;
+
+            if (token.isEmpty() || token.charAt(0) != '"') {
+                if (tokens != args) {
+                    tokens[count] = token;
+                }
+                kinds[count] = classify(token);
+                offsets[count++] = start;
+                continue;
+            }
+
+            // Quoted span: switch to the private buffer the first time tokens stop lining up with args
+            if (tokens == args) {
+                if (buffer.length < args.length) {
+                    buffer = new String[args.length];
+                }
+                System.arraycopy(args, 0, buffer, 0, count);
+                tokens = buffer;
+            }
+
+            String value;
+            if (token.length() > 1 && token.charAt(token.length() - 1) == '"') {
+                value = token.substring(1, token.length() - 1);
+            } else {
+                // Joins up to the closing quote; an unterminated quote runs to the end of the line
+                StringBuilder builder = new StringBuilder(token.length() + 16).append(token, 1, token.length());
+                while (i + 1 < args.length) {
+                    String next = args[++i];
+                    position += next.length() + 1;
+                    builder.append(' ');
+                    if (!next.isEmpty() && next.charAt(next.length() - 1) == '"') {
+                        builder.append(next, 0, next.length() - 1);
+                        break;
+                    }
+                    builder.append(next);
+                }
+                value = builder.toString();
+            }
+            tokens[count] = value;
+            kinds[count] = QUOTED;
+            offsets[count++] = start;
+        }
+    }
+
+    /**
+     * Drops references to the last input so a pooled lexer does not keep it alive.
+     */
+    public void clear() {
+        if (tokens == buffer) {
+            Arrays.fill(buffer, 0, count, null);
+        }
+        raw = NO_TOKENS;
+        tokens = NO_TOKENS;
+        count = 0;
+    }
+
+    /**
+     * Classifies an unquoted token. Negative numbers ({@code -5}, {@code -.5}) and a bare
+     * {@code -} or {@code --} are words.
+     */
+    public static byte classify(String token) {
+        if (token.length() < 2 || token.charAt(0) != '-') {
+            return WORD;
+        }
+        char second = token.charAt(1);
+        if (second == '-') {
+            return token.length() > 2 && token.charAt(2) != '-' ? LONG_FLAG : WORD;
+        }
+        if (Character.isDigit(second) || second == '.') {
+            return WORD;
+        }
+        return SHORT_FLAG;
+    }
+
+    /**
+     * Index where the flag name starts ({@code 1} for {@code -x}, {@code 2} for {@code --name}).
+     */
+    public static int flagNameStart(byte kind) {
+        return kind == LONG_FLAG ? 2 : 1;
+    }
+
+    /**
+     * Index where the flag name ends: the {@code =} of an inline value, or the token length.
+     */
+    public static int flagNameEnd(String token) {
+        int equals = token.indexOf('=');
+        return equals < 0 ? token.length() : equals;
+    }
+
+    /**
+     * The inline value of {@code -r=5} / {@code --radius=5}, or null.
+     */
+    public static String flagValue(String token) {
+        int equals = token.indexOf('=');
+        return equals < 0 ? null : token.substring(equals + 1);
+    }
+
+    public String[] getRaw() {
+        return raw;
+    }
+
+    /**
+     * The token array; only the first {@link #size()} entries are valid.
+     */
+    public String[] getTokens() {
+        return tokens;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public String token(int index) {
+        return tokens[index];
+    }
+
+    public byte kind(int index) {
+        return kinds[index];
+    }
+
+    public boolean isFlag(int index) {
+        return kinds[index] == SHORT_FLAG || kinds[index] == LONG_FLAG;
+    }
+
+    /**
+     * Character offset of the token in the raw arguments joined by single spaces.
+     */
+    public int offset(int index) {
+        return offsets[index];
+    }
+}
@@ -0,0 +1,285 @@
+package com.dami.easyCommands.internal;
+
+import com.dami.easyCommands.annotations.GuiIcon;
+import com.dami.easyCommands.annotations.GuiSlot;
+import com.dami.easyCommands.annotations.SubCommand;
+import com.dami.easyCommands.annotations.SubCommandTab;
+import com.dami.easyCommands.core.DispatcherRegistry;
+import com.dami.easyCommands.core.GeneratedDispatcher;
+import com.dami.easyCommands.core.ICommand;
+import org.bukkit.command.CommandSender;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the commands and tab completions of command classes for registration. The annotation
+ * metadata of a class is extracted once, in one pass over its methods, and cached per class; a
+ * scan only binds the cached specs to an owner. Several classes can be scanned in parallel, the
+ * resulting {@link Scan}s are then merged into the tree by the caller, in order.
+ */
+public final class CommandScanner {
+
+    private static final ClassValue<ClassMetadata> METADATA = new ClassValue<>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    private static final Comparator<Method> DECLARATION_ORDER =
+            Comparator.comparing(Method::getName).thenComparing(Method::toString);
+
+    private CommandScanner() {
+    }
+
+    /**
+     * The commands of one owner, with full paths and bound invokers.
+     */
+    public static final class Scan {
+        private final ICommand owner;
+        private final List<CommandSpec> commands;
+        private final List<TabSpec> tabCompletes;
+        private final long scanNanos;
+
+        Scan(ICommand owner, List<CommandSpec> commands, List<TabSpec> tabCompletes, long scanNanos) {
+            this.owner = owner;
+            this.commands = commands;
+            this.tabCompletes = tabCompletes;
+            this.scanNanos = scanNanos;
+        }
+
+        public ICommand getOwner() {
+            return owner;
+        }
+
+        public String getClassName() {
+            return owner.getClass().getName();
+        }
+
+        public List<CommandSpec> getCommands() {
+            return commands;
+        }
+
+        public List<TabSpec> getTabCompletes() {
+            return tabCompletes;
+        }
+
+        public long getScanNanos() {
+            return scanNanos;
+        }
+    }
+
+    /**
+     * The {@code @SubCommand} and {@code @SubCommandTab} methods of a command, paths as declared.
+     */
+    public static Scan scan(ICommand owner) {
+        long start = System.nanoTime();
+        List<CommandSpec> commands = new ArrayList<>();
+        List<TabSpec> tabCompletes = new ArrayList<>();
+        GeneratedDispatcher<ICommand> dispatcher = dispatcherFor(owner);
+        if (dispatcher != null) {
+            for (CommandSpec spec : dispatcher.commands(owner)) {
+                if (spec.getPath().length > 0) commands.add(spec);
+            }
+            for (TabSpec spec : dispatcher.tabCompletes(owner)) {
+                if (spec.getPath().length > 0) tabCompletes.add(spec);
+            }
+        } else {
+            ClassMetadata metadata = METADATA.get(owner.getClass());
+            for (CommandSpec template : metadata.commands) {
+                if (template.getPath().length > 0) commands.add(template.bind(template.getPath(), owner));
+            }
+            for (TabTemplate template : metadata.tabCompletes) {
+                if (template.path.length > 0) tabCompletes.add(template.bind(template.path, owner));
+            }
+        }
+        return new Scan(owner, commands, tabCompletes, System.nanoTime() - start);
+    }
+
+    /**
+     * A class annotated with {@code @SubCommand}: its {@code mainCommand} and {@code tabComplete}
+     * at the class path, and its methods below it.
+     */
+    public static Scan scanSubCommandClass(ICommand owner) {
+        long start = System.nanoTime();
+        ClassMetadata metadata = METADATA.get(owner.getClass());
+        if (metadata.classAnnotation == null) {
+            throw new IllegalArgumentException("The class " + owner.getClass().getName() + " is not annotated with @SubCommand");
+        }
+        String[] basePath = metadata.basePath;
+        List<CommandSpec> commands = new ArrayList<>();
+        List<TabSpec> tabCompletes = new ArrayList<>();
+
+        GeneratedDispatcher<ICommand> dispatcher = dispatcherFor(owner);
+        if (dispatcher != null && dispatcher.basePath() != null) {
+            commands.add(dispatcher.mainCommand(owner).withPath(basePath));
+            for (CommandSpec spec : dispatcher.commands(owner)) {
+                String[] path = concat(basePath, spec.getPath());
+                if (path.length > 0) commands.add(spec.withPath(path));
+            }
+            tabCompletes.add(dispatcher.tabComplete(owner).withPath(basePath));
+            for (TabSpec spec : dispatcher.tabCompletes(owner)) {
+                tabCompletes.add(spec.withPath(concat(basePath, spec.getPath())));
+            }
+            return new Scan(owner, commands, tabCompletes, System.nanoTime() - start);
+        }
+
+        if (metadata.mainCommand == null) {
+            throw new IllegalArgumentException("The class " + owner.getClass().getName() + " has no mainCommand method");
+        }
+        if (metadata.tabComplete == null) {
+            throw new IllegalArgumentException("The class " + owner.getClass().getName() + " has no tabComplete method");
+        }
+        commands.add(metadata.mainCommand.bind(basePath, owner));
+        for (CommandSpec template : metadata.commands) {
+            String[] path = concat(basePath, template.getPath());
+            if (path.length > 0) commands.add(template.bind(path, owner));
+        }
+        tabCompletes.add(TabSpec.reflect(basePath, metadata.tabComplete, owner, metadata.classAnnotation.permission(), 100));
+        for (TabTemplate template : metadata.tabCompletes) {
+            tabCompletes.add(template.bind(concat(basePath, template.path), owner));
+        }
+        return new Scan(owner, commands, tabCompletes, System.nanoTime() - start);
+    }
+
+    /**
+     * Scans several sub command classes in parallel. The scans come back in the given order, so
+     * merging them one by one builds the same tree as registering the classes one at a time.
+     */
+    public static List<Scan> scanSubCommandClasses(List<? extends ICommand> owners) {
+        if (owners.size() < 2) {
+            return owners.stream().map(CommandScanner::scanSubCommandClass).collect(Collectors.toList());
+        }
+        return owners.parallelStream().map(CommandScanner::scanSubCommandClass).collect(Collectors.toList());
+    }
+
+    /**
+     * The path of a class annotated with {@code @SubCommand}, read from the class annotation only.
+     */
+    public static String[] basePath(Class<?> type) {
+        SubCommand sub = type.getAnnotation(SubCommand.class);
+        if (sub == null) {
+            throw new IllegalArgumentException("The class " + type.getName() + " is not annotated with @SubCommand");
+        }
+        return path(sub.commandPath(), sub.name());
+    }
+
+    /**
+     * A stand-in for the {@code mainCommand} of a class that is not loaded yet, built from the
+     * class annotations alone: it lists, describes and guards the class path like the real one.
+     * The invoker receives the sender and the remaining arguments.
+     */
+    public static CommandSpec placeholder(Class<?> type, CommandInvoker invoker) {
+        SubCommand sub = type.getAnnotation(SubCommand.class);
+        String[] path = basePath(type);
+        GuiIcon guiIcon = type.getAnnotation(GuiIcon.class);
+        GuiSlot guiSlot = type.getAnnotation(GuiSlot.class);
+        ParameterSpec[] parameters = {
+                new ParameterSpec(CommandSender.class, "sender", null, false, false, null, Double.NaN, Double.NaN, null, null),
+                new ParameterSpec(String[].class, "args", null, false, false, null, Double.NaN, Double.NaN, null, null)
+        };
+        return new CommandSpec(path, "mainCommand", null, invoker, parameters, sub.weight(), sub.permission(), sub.maxArgs(),
+                sub.aliases(), sub.description(), sub.usage(), sub.senderType(), sub.completions(),
+                sub.requiredArgs() != -1 ? sub.requiredArgs() : 0,
+                guiIcon != null ? guiIcon.material() : "",
+                guiSlot != null ? guiSlot.row() : -1,
+                guiSlot != null ? guiSlot.col() : -1,
+                false, 0, "", new String[0], 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GeneratedDispatcher<ICommand> dispatcherFor(ICommand owner) {
+        return (GeneratedDispatcher<ICommand>) DispatcherRegistry.get(owner.getClass());
+    }
+
+    private static String[] concat(String[] basePath, String[] path) {
+        String[] result = new String[basePath.length + path.length];
+        System.arraycopy(basePath, 0, result, 0, basePath.length);
+        System.arraycopy(path, 0, result, basePath.length, path.length);
+        return result;
+    }
+
+    /**
+     * Joins annotation path segments, skipping empty ones.
+     */
+    private static String[] path(String[] commandPath, String name) {
+        List<String> parts = new ArrayList<>(commandPath.length + 1);
+        for (String part : commandPath) {
+            if (part != null && !part.isEmpty()) parts.add(part);
+        }
+        if (name != null && !name.isEmpty()) parts.add(name);
+        return parts.toArray(new String[0]);
+    }
+
+    private static final class TabTemplate {
+        private final String[] path;
+        private final Method method;
+        private final SubCommandTab tab;
+
+        TabTemplate(String[] path, Method method, SubCommandTab tab) {
+            this.path = path;
+            this.method = method;
+            this.tab = tab;
+        }
+
+        TabSpec bind(String[] path, Object owner) {
+            return TabSpec.reflect(path, method, tab, owner);
+        }
+    }
+
+    /**
+     * Everything a class declares that does not depend on the instance. Methods are visited in
+     * name order, so the result does not depend on the order reflection lists them in.
+     */
+    private static final class ClassMetadata {
+        private final SubCommand classAnnotation;
+        private final String[] basePath;
+        private final CommandSpec mainCommand;
+        private final Method tabComplete;
+        private final List<CommandSpec> commands = new ArrayList<>();
+        private final List<TabTemplate> tabCompletes = new ArrayList<>();
+
+        ClassMetadata(Class<?> type) {
+            Method[] methods = type.getDeclaredMethods();
+            Arrays.sort(methods, DECLARATION_ORDER);
+            for (Method method : methods) {
+                if (method.isSynthetic() || method.getDeclaredAnnotations().length == 0) continue;
+                MethodAnnotations annotations = MethodAnnotations.of(method);
+                if (annotations.subCommand != null) {
+                    SubCommand sub = annotations.subCommand;
+                    commands.add(CommandSpec.template(path(sub.commandPath(), sub.name()), method, annotations, sub));
+                }
+                if (annotations.subCommandTab != null) {
+                    SubCommandTab tab = annotations.subCommandTab;
+                    tabCompletes.add(new TabTemplate(path(tab.commandPath(), tab.name()), method, tab));
+                }
+            }
+
+            this.classAnnotation = type.getAnnotation(SubCommand.class);
+            if (classAnnotation == null) {
+                this.basePath = null;
+                this.mainCommand = null;
+                this.tabComplete = null;
+                return;
+            }
+            this.basePath = path(classAnnotation.commandPath(), classAnnotation.name());
+            this.mainCommand = mainCommand(type, basePath, classAnnotation);
+            this.tabComplete = method(type, "tabComplete");
+        }
+
+        private static CommandSpec mainCommand(Class<?> type, String[] basePath, SubCommand sub) {
+            Method method = method(type, "mainCommand");
+            return method != null ? CommandSpec.template(basePath, method, MethodAnnotations.of(method), sub) : null;
+        }
+
+        private static Method method(Class<?> type, String name) {
+            try {
+                return type.getMethod(name, CommandSender.class, String[].class);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.dami.easyCommands.internal;
+
+import com.dami.easyCommands.annotations.Confirm;
+import com.dami.easyCommands.annotations.Cooldown;
+import com.dami.easyCommands.annotations.GuiIcon;
+import com.dami.easyCommands.annotations.GuiSlot;
+import com.dami.easyCommands.annotations.Require;
+import com.dami.easyCommands.annotations.SubCommand;
+import com.dami.easyCommands.model.SenderType;
+
+import java.lang.reflect.Method;
+
+/**
+ * Everything needed to register one command method, resolved up front. Generated dispatchers
+ * create these with literal values and a direct-call invoker; the reflection path builds them
+ * with {@link #reflect}. {@link SubCommandInfo} only ever reads a spec, never the annotations.
+ */
+public final class CommandSpec {
+
+    /**
+     * Marks {@link #getRequiredArgs()} as "count the required parameters".
+     */
+    public static final int AUTO_REQUIRED_ARGS = -1;
+
+    private final String[] path;
+    private final String methodName;
+    private final Method method;
+    private final CommandInvoker invoker;
+    private final ParameterSpec[] parameters;
+    private final int weight;
+    private final String permission;
+    private final int maxArgs;
+    private final String[] aliases;
+    private final String description;
+    private final String usage;
+    private final SenderType senderType;
+    private final String[] completions;
+    private final int requiredArgs;
+    private final String guiIconMaterial;
+    private final int guiRow;
+    private final int guiCol;
+    private final boolean async;
+    private final int cooldownSeconds;
+    private final String cooldownBypassPerm;
+    private final String[] requires;
+    private final int confirmTimeout;
+
+    /**
+     * @param path         command path relative to the owner, including the command name
+     * @param method       the reflected method, or null when called through generated code
+     * @param requiredArgs explicit required argument count, or {@link #AUTO_REQUIRED_ARGS}
+     */
+    public CommandSpec(String[] path, String methodName, Method method, CommandInvoker invoker, ParameterSpec[] parameters,
+                       int weight, String permission, int maxArgs, String[] aliases, String description, String usage,
+                       SenderType senderType, String[] completions, int requiredArgs,
+                       String guiIconMaterial, int guiRow, int guiCol, boolean async,
+                       int cooldownSeconds, String cooldownBypassPerm, String[] requires, int confirmTimeout) {
+        this.path = path;
+        this.methodName = methodName;
+        this.method = method;
+        this.invoker = invoker;
+        this.parameters = parameters;
+        this.weight = weight;
+        this.permission = permission;
+        this.maxArgs = maxArgs;
+        this.aliases = aliases != null ? aliases : new String[0];
+        this.description = description != null ? description : "";
+        this.usage = usage != null ? usage : "";
+        this.senderType = senderType != null ? senderType : SenderType.ANY;
+        this.completions = completions != null ? completions : new String[0];
+        this.requiredArgs = requiredArgs;
+        this.guiIconMaterial = guiIconMaterial != null ? guiIconMaterial : "";
+        this.guiRow = guiRow;
+        this.guiCol = guiCol;
+        this.async = async;
+        this.cooldownSeconds = cooldownSeconds;
+        this.cooldownBypassPerm = cooldownBypassPerm != null ? cooldownBypassPerm : "";
+        this.requires = requires != null ? requires : new String[0];
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    /**
+     * Reads a command method through reflection. The {@code @SubCommand} values are passed in
+     * because class based sub commands register their {@code mainCommand} with the class annotation.
+     */
+    public static CommandSpec reflect(String[] path, Method method, Object owner, int weight, String permission, int maxArgs,
+                                      String[] aliases, String description, String usage, SenderType senderType, String[] completions) {
+        return template(path, method, MethodAnnotations.of(method), weight, permission, maxArgs, aliases, description,
+                usage, senderType, completions).bind(path, owner);
+    }
+
+    /**
+     * A spec read from already collected annotations, without an invoker; {@link #bind} attaches
+     * one for an owner. Templates depend only on the class, so they can be cached and shared.
+     */
+    static CommandSpec template(String[] path, Method method, MethodAnnotations annotations, int weight, String permission,
+                                int maxArgs, String[] aliases, String description, String usage, SenderType senderType,
+                                String[] completions) {
+        Class<?> declaringClass = method.getDeclaringClass();
+
+        GuiIcon guiIcon = annotations.guiIcon;
+        if (guiIcon == null) {
+            guiIcon = declaringClass.getAnnotation(GuiIcon.class);
+        }
+        GuiSlot guiSlot = annotations.guiSlot;
+        if (guiSlot == null) {
+            guiSlot = declaringClass.getAnnotation(GuiSlot.class);
+        }
+        Cooldown cooldown = annotations.cooldown;
+        Require require = annotations.require;
+        Confirm confirm = annotations.confirm;
+
+        int requiredArgs = AUTO_REQUIRED_ARGS;
+        SubCommand subAnn = annotations.subCommand;
+        if (subAnn == null) {
+            subAnn = declaringClass.getAnnotation(SubCommand.class);
+        }
+        if (subAnn != null && subAnn.requiredArgs() != -1) {
+            requiredArgs = subAnn.requiredArgs();
+        } else if (method.getName().equals("mainCommand") && method.getParameterCount() == 2 && method.getParameterTypes()[1] == String[].class) {
+            requiredArgs = 0;
+        }
+
+        return new CommandSpec(
+                path,
+                method.getName(),
+                method,
+                null,
+                ParameterSpec.of(method),
+                weight, permission, maxArgs, aliases, description, usage, senderType, completions, requiredArgs,
+                guiIcon != null ? guiIcon.material() : "",
+                guiSlot != null ? guiSlot.row() : -1,
+                guiSlot != null ? guiSlot.col() : -1,
+                annotations.async,
+                cooldown != null ? cooldown.seconds() : 0,
+                cooldown != null ? cooldown.bypassPermission() : "",
+                require != null ? require.value() : new String[0],
+                confirm != null ? confirm.timeout() : 0
+        );
+    }
+
+    static CommandSpec template(String[] path, Method method, MethodAnnotations annotations, SubCommand sub) {
+        return template(path, method, annotations, sub.weight(), sub.permission(), sub.maxArgs(),
+                sub.aliases(), sub.description(), sub.usage(), sub.senderType(), sub.completions());
+    }
+
+    public static CommandSpec reflect(String[] path, Method method, SubCommand sub, Object owner) {
+        return reflect(path, method, owner, sub.weight(), sub.permission(), sub.maxArgs(),
+                sub.aliases(), sub.description(), sub.usage(), sub.senderType(), sub.completions());
+    }
+
+    /**
+     * Copies this spec with a different path, used to prefix the base path of class based sub commands.
+     */
+    public CommandSpec withPath(String[] path) {
+        return withInvoker(path, invoker);
+    }
+
+    /**
+     * Copies a reflected spec with its method bound to {@code owner}.
+     */
+    public CommandSpec bind(String[] path, Object owner) {
+        return withInvoker(path, CommandInvoker.bind(method, owner));
+    }
+
+    private CommandSpec withInvoker(String[] path, CommandInvoker invoker) {
+        return new CommandSpec(path, methodName, method, invoker, parameters, weight, permission, maxArgs, aliases,
+                description, usage, senderType, completions, requiredArgs, guiIconMaterial, guiRow, guiCol, async,
+                cooldownSeconds, cooldownBypassPerm, requires, confirmTimeout);
+    }
+
+    public String[] getPath() {
+        return path;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public CommandInvoker getInvoker() {
+        return invoker;
+    }
+
+    public ParameterSpec[] getParameters() {
+        return parameters;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public String getPermission() {
+        return permission;
+    }
+
+    public int getMaxArgs() {
+        return maxArgs;
+    }
+
+    public String[] getAliases() {
+        return aliases;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getUsage() {
+        return usage;
+    }
+
+    public SenderType getSenderType() {
+        return senderType;
+    }
+
+    public String[] getCompletions() {
+        return completions;
+    }
+
+    public int getRequiredArgs() {
+        return requiredArgs;
+    }
+
+    public String getGuiIconMaterial() {
+        return guiIconMaterial;
+    }
+
+    public int getGuiRow() {
+        return guiRow;
+    }
+
+    public int getGuiCol() {
+        return guiCol;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public int getCooldownSeconds() {
+        return cooldownSeconds;
+    }
+
+    public String getCooldownBypassPerm() {
+        return cooldownBypassPerm;
+    }
+
+    public String[] getRequires() {
+        return requires;
+    }
+
+    public int getConfirmTimeout() {
+        return confirmTimeout;
+    }
+}
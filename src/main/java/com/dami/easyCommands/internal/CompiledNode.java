@@ -0,0 +1,413 @@
+package com.dami.easyCommands.internal;
+
+import com.dami.easyCommands.core.MessageHandler;
+import com.dami.easyCommands.model.MessageKey;
+import com.dami.easyCommands.util.StringUtil;
+import org.bukkit.command.CommandSender;
+
+import java.util.*;
+
+/**
+ * Immutable, frozen form of a {@link CommandNode} tree used for dispatch and tab completion.
+ * Children are kept in flat arrays (in the same case-insensitive order as the builder) and
+ * indexed by an open-addressing table of precomputed case-folded hashes, so resolving a token
+ * costs a single hashed probe instead of a chain of TreeMap comparisons.
+ * <p>
+ * Each node also summarizes the permissions of every command below it (see
+ * {@link #isAccessible(PermissionSnapshot)}), so visibility checks never walk the subtree.
+ */
+public final class CompiledNode {
+
+    public static final String WILDCARD = "*";
+
+    public static final CompiledNode EMPTY = new CompiledNode(new String[0], new CompiledNode[0], null, null);
+
+    private final String[] keys;
+    private final int[] hashes;
+    private final CompiledNode[] children;
+    private final int[] table;
+    private final CompiledNode wildcard;
+    private final SubCommandInfo subCommandInfo;
+    private final TabCompleteInfo tabCompleteInfo;
+
+    private final boolean unrestrictedLeaf;
+    private final int[] subtreePermissions;
+
+    private final FuzzyIndex fuzzyIndex;
+
+    private volatile HelpIndex helpIndex;
+
+    private CompiledNode(String[] keys, CompiledNode[] children, SubCommandInfo subCommandInfo, TabCompleteInfo tabCompleteInfo) {
+        this.keys = keys;
+        this.children = children;
+        this.subCommandInfo = subCommandInfo;
+        this.tabCompleteInfo = tabCompleteInfo;
+        this.hashes = new int[keys.length];
+
+        int capacity = 1;
+        while (capacity < keys.length * 2) {
+            capacity <<= 1;
+        }
+        this.table = new int[keys.length == 0 ? 0 : capacity];
+
+        CompiledNode wildcardChild = null;
+        for (int i = 0; i < keys.length; i++) {
+            int hash = StringUtil.caseInsensitiveHash(keys[i]);
+            hashes[i] = hash;
+            int slot = spread(hash) & (table.length - 1);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & (table.length - 1);
+            }
+            table[slot] = i + 1;
+            if (keys[i].equals(WILDCARD)) {
+                wildcardChild = children[i];
+            }
+        }
+        this.wildcard = wildcardChild;
+        this.fuzzyIndex = FuzzyIndex.build(keys);
+
+        boolean unrestricted = subCommandInfo != null && subCommandInfo.getPermissionId() == PermissionSnapshot.NONE;
+        BitSet permissionIds = new BitSet();
+        if (subCommandInfo != null && !unrestricted) {
+            permissionIds.set(subCommandInfo.getPermissionId());
+        }
+        for (CompiledNode child : children) {
+            unrestricted |= child.unrestrictedLeaf;
+            for (int id : child.subtreePermissions) {
+                permissionIds.set(id);
+            }
+        }
+        this.unrestrictedLeaf = unrestricted;
+        this.subtreePermissions = unrestricted ? new int[0] : permissionIds.stream().toArray();
+    }
+
+    /**
+     * Freezes a builder tree into its compiled form.
+     */
+    public static CompiledNode compile(Map<String, CommandNode> nodes) {
+        return compile(nodes, null, null);
+    }
+
+    static CompiledNode compile(Map<String, CommandNode> nodes, SubCommandInfo subCommandInfo, TabCompleteInfo tabCompleteInfo) {
+        String[] keys = new String[nodes.size()];
+        CompiledNode[] children = new CompiledNode[nodes.size()];
+        int i = 0;
+        for (Map.Entry<String, CommandNode> entry : nodes.entrySet()) {
+            keys[i] = entry.getKey();
+            children[i] = entry.getValue().compile();
+            i++;
+        }
+        return new CompiledNode(keys, children, subCommandInfo, tabCompleteInfo);
+    }
+
+    /**
+     * A copy of this node with its own command and tab completion set as given and the child at
+     * {@code key} replaced, added, or removed when {@code child} is null. Every other child is
+     * shared with this node, so updating one path of a tree copies only the nodes along it.
+     */
+    public CompiledNode with(SubCommandInfo subCommandInfo, TabCompleteInfo tabCompleteInfo, String key, CompiledNode child) {
+        int index = Arrays.binarySearch(keys, key, String.CASE_INSENSITIVE_ORDER);
+        String[] newKeys;
+        CompiledNode[] newChildren;
+        if (index >= 0 && child != null) {
+            newKeys = keys;
+            newChildren = children.clone();
+            newChildren[index] = child;
+        } else if (index >= 0) {
+            newKeys = new String[keys.length - 1];
+            newChildren = new CompiledNode[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+        } else if (child != null) {
+            int at = -index - 1;
+            newKeys = new String[keys.length + 1];
+            newChildren = new CompiledNode[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            newKeys[at] = key;
+            newChildren[at] = child;
+        } else {
+            newKeys = keys;
+            newChildren = children;
+        }
+        return new CompiledNode(newKeys, newChildren, subCommandInfo, tabCompleteInfo);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Resolves the exact (case-insensitive) child for a token, or null if there is none.
+     */
+    public CompiledNode child(String token) {
+        if (table.length == 0) {
+            return null;
+        }
+        int hash = StringUtil.caseInsensitiveHash(token);
+        int mask = table.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            int index = table[slot];
+            if (index == 0) {
+                return null;
+            }
+            index--;
+            if (hashes[index] == hash && keys[index].equalsIgnoreCase(token)) {
+                return children[index];
+            }
+        }
+    }
+
+    public CompiledNode getWildcard() {
+        return wildcard;
+    }
+
+    public SubCommandInfo getSubCommandInfo() {
+        return subCommandInfo;
+    }
+
+    public TabCompleteInfo getTabCompleteInfo() {
+        return tabCompleteInfo;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Whether nothing at all is registered at or below this node.
+     */
+    public boolean isEmpty() {
+        return keys.length == 0 && subCommandInfo == null && tabCompleteInfo == null;
+    }
+
+    /**
+     * Whether a command without a permission exists at or below this node.
+     */
+    public boolean hasUnrestrictedLeaf() {
+        return unrestrictedLeaf;
+    }
+
+    /**
+     * The distinct permission ids of the commands at or below this node. Empty when
+     * {@link #hasUnrestrictedLeaf()}, since those permissions no longer matter then.
+     */
+    public int[] getSubtreePermissions() {
+        return subtreePermissions.clone();
+    }
+
+    /**
+     * Whether every command at or below this node requires the same single permission.
+     */
+    public boolean hasSinglePermission() {
+        return subtreePermissions.length == 1;
+    }
+
+    public String keyAt(int index) {
+        return keys[index];
+    }
+
+    public CompiledNode childAt(int index) {
+        return children[index];
+    }
+
+    public boolean runSubCommand(InvocationContext context) {
+        CommandSender sender = context.getSender();
+
+        // Help check
+        if (context.remaining() > 0 && context.peek().equalsIgnoreCase("help")) {
+            int page = 1;
+            if (context.remaining() > 1) {
+                try {
+                    page = Integer.parseInt(context.peek(1));
+                } catch (NumberFormatException ignored) {}
+            }
+            showHelp(sender, context.getMessageHandler(), context.getBaseCommandName(), "", page);
+            return true;
+        }
+
+        // Priority 1: Child node matching (exact or wildcard)
+        if (context.remaining() > 0) {
+            String node = context.peek();
+            CompiledNode commandNode = child(node);
+
+            if (commandNode != null) {
+                context.advance();
+                boolean handled = commandNode.runSubCommand(context);
+                context.retreat();
+                if (handled) {
+                    return true;
+                }
+            } else if (wildcard != null) {
+                context.advance();
+                context.pushWildcard();
+                boolean handled = wildcard.runSubCommand(context);
+                context.popWildcard();
+                context.retreat();
+                if (handled) {
+                    return true;
+                }
+            } else {
+                // No match, try to find a suggestion
+                String suggestion = findSuggestion(node, context.getPermissions());
+                if (suggestion != null) {
+                    Map<String, String> placeholders = new HashMap<>();
+                    placeholders.put("command", context.getBaseCommandName());
+                    placeholders.put("suggestion", context.fullPath() + " " + suggestion);
+                    context.getMessageHandler().sendMessage(sender, MessageKey.DID_YOU_MEAN, placeholders);
+                    return true;
+                }
+            }
+        }
+
+        // Priority 2: Leaf match or Fallback match (this node has a command)
+        if (subCommandInfo != null) {
+            subCommandInfo.run(context);
+            return true;
+        }
+
+        // Check if we executed a directory subcommand (path is empty, no leaf command, but has children)
+        if (context.remaining() == 0 && keys.length > 0 && sender instanceof org.bukkit.entity.Player) {
+            if (context.getParentCommand() instanceof com.dami.easyCommands.core.ShardableCommand) {
+                com.dami.easyCommands.core.ShardableCommand shardable = (com.dami.easyCommands.core.ShardableCommand) context.getParentCommand();
+                if (shardable.isAutoGuiEnabled()) {
+                    org.bukkit.entity.Player player = (org.bukkit.entity.Player) sender;
+                    String title = shardable.getAutoGuiTitle() != null ? shardable.getAutoGuiTitle() : shardable.getName() + " Commands";
+                    shardable.openCommandNodeGui(player, context.fullPath(), title);
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Finds the closest accessible child key for a mistyped token.
+     */
+    public String findSuggestion(String input, CommandSender sender) {
+        return findSuggestion(input, PermissionCache.snapshot(sender));
+    }
+
+    public String findSuggestion(String input, PermissionSnapshot permissions) {
+        int index = fuzzyIndex.closest(input, i -> children[i].isAccessible(permissions));
+        return index < 0 ? null : keys[index];
+    }
+
+    public void collectHelp(CommandSender sender, String currentPath, List<CommandNode.HelpEntry> entries) {
+        collectHelp(PermissionCache.snapshot(sender), currentPath, entries);
+    }
+
+    public void collectHelp(PermissionSnapshot permissions, String currentPath, List<CommandNode.HelpEntry> entries) {
+        if (subCommandInfo != null) {
+            if (permissions.has(subCommandInfo.getPermissionId())) {
+                entries.add(new CommandNode.HelpEntry(
+                    currentPath,
+                    subCommandInfo.getDescription(),
+                    subCommandInfo.getUsage().isEmpty() ? currentPath : subCommandInfo.getUsage()
+                ));
+            }
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (children[i].isAccessible(permissions)) {
+                String nextPath = currentPath.isEmpty() ? keys[i] : currentPath + " " + keys[i];
+                children[i].collectHelp(permissions, nextPath, entries);
+            }
+        }
+    }
+
+    public void showHelp(CommandSender sender, MessageHandler messageHandler, String baseCommandName, String currentPath, int page) {
+        HelpIndex index;
+        if (currentPath.isEmpty()) {
+            index = helpIndex;
+            if (index == null) {
+                index = HelpIndex.of(this, "");
+                helpIndex = index;
+            }
+        } else {
+            index = HelpIndex.of(this, currentPath);
+        }
+        index.show(sender, messageHandler, baseCommandName, page);
+    }
+
+    public boolean isAccessible(CommandSender sender) {
+        return isAccessible(PermissionCache.snapshot(sender));
+    }
+
+    /**
+     * Whether the sender can run anything at or below this node: true as soon as one command is
+     * unrestricted or one of the subtree's distinct permissions is granted.
+     */
+    public boolean isAccessible(PermissionSnapshot permissions) {
+        if (unrestrictedLeaf) {
+            return true;
+        }
+        for (int id : subtreePermissions) {
+            if (permissions.has(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<String> getTabComplete(InvocationContext context) {
+        CommandSender sender = context.getSender();
+        if (context.remaining() == 1) {
+            Set<String> suggestions = new HashSet<>();
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].equals(WILDCARD)) continue;
+                if (children[i].isAccessible(context.getPermissions())) {
+                    suggestions.add(keys[i]);
+                }
+            }
+
+            if (tabCompleteInfo != null || subCommandInfo != null) {
+                String[] path = context.remainingArgs();
+                List<String> wildcards = context.wildcardList();
+
+                if (tabCompleteInfo != null) {
+                    if (context.isAsync() && !tabCompleteInfo.isThreadSafe()) {
+                        context.requireSync();
+                        return null;
+                    }
+                    List<String> customSuggestions = tabCompleteInfo.getTabComplete(sender, path, wildcards);
+                    if (customSuggestions != null) {
+                        suggestions.addAll(customSuggestions);
+                    }
+                }
+
+                if (subCommandInfo != null) {
+                    List<String> autoSuggestions = subCommandInfo.getTabComplete(context);
+                    if (context.isSyncRequired()) {
+                        return null;
+                    }
+                    if (autoSuggestions != null) {
+                        suggestions.addAll(autoSuggestions);
+                    }
+                }
+            }
+
+            return new ArrayList<>(suggestions);
+        }
+
+        String node = context.peek();
+        CompiledNode commandNode = child(node);
+
+        if (commandNode != null) {
+            context.advance();
+            return commandNode.getTabComplete(context);
+        }
+
+        if (wildcard != null) {
+            context.advance();
+            context.pushWildcard();
+            return wildcard.getTabComplete(context);
+        }
+
+        return null;
+    }
+}
@@ -2,9 +2,7 @@ package com.dami.easyCommands.internal;
 
 import com.dami.easyCommands.core.TabRegistry;
 
-import com.dami.easyCommands.annotations.Tab;
 import com.dami.easyCommands.model.CompletionProvider;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.World;
@@ -13,7 +11,6 @@ import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -22,34 +19,91 @@ import java.util.stream.Collectors;
  */
 public class CompletionResolver {
 
-    private static final Map<String, CompletionProvider> providers = new HashMap<>();
+    private static final RegistryTable<String, CompletionProvider> providers = new RegistryTable<>();
+    private static final RegistryTable<CompletionProvider, Boolean> threadSafeProviders = new RegistryTable<>();
+    private static volatile int rankedLimit = 0;
 
     static {
-        registerProvider("players", (sender, args) -> 
-            Bukkit.getOnlinePlayers().stream().map(Player::getName).collect(Collectors.toList()));
-        
-        registerProvider("worlds", (sender, args) -> 
-            Bukkit.getWorlds().stream().map(World::getName).collect(Collectors.toList()));
+        registerProvider("players", OnlineIndex.players());
+
+        registerProvider("worlds", OnlineIndex.worlds());
+
+        registerProvider("offline_players", (sender, args) -> new ArrayList<>(ProfileCache.getNames()), true);
             
-        registerProvider("boolean", (sender, args) -> 
-            List.of("true", "false"));
+        registerProvider("boolean", PrefixIndex.of(List.of("true", "false")));
 
-        registerProvider("materials", (sender, args) ->
-            Arrays.stream(Material.values()).map(m -> m.name().toLowerCase()).collect(Collectors.toList()));
+        // Same names as the converters accept; the tables are only built on first use.
+        // The Material converter rejects LEGACY_* constants, so they are not suggested either
+        registerProvider("materials", PrefixIndex.lazy(() -> Arrays.stream(Material.values())
+                .filter(material -> !material.isLegacy())
+                .map(material -> material.name().toLowerCase())
+                .collect(Collectors.toList())));
 
-        registerProvider("sounds", (sender, args) ->
-            Arrays.stream(Sound.values()).map(s -> s.name().toLowerCase()).collect(Collectors.toList()));
+        registerProvider("sounds", PrefixIndex.lazy(() -> ParameterResolver.sounds().names()));
 
-        registerProvider("entity_types", (sender, args) ->
-            Arrays.stream(EntityType.values()).map(e -> e.name().toLowerCase()).collect(Collectors.toList()));
+        registerProvider("entity_types", PrefixIndex.lazy(() -> LiteralTable.ofEnum(EntityType.class).names()));
     }
 
+    /**
+     * Registers a provider. {@link PrefixIndex} providers are thread-safe, any other provider is
+     * only called on the main thread; use {@link #registerProvider(String, CompletionProvider, boolean)}
+     * to allow async tab completion to call it.
+     */
     public static void registerProvider(String name, CompletionProvider provider) {
+        registerProvider(name, provider, provider instanceof PrefixIndex);
+    }
+
+    public static synchronized void registerProvider(String name, CompletionProvider provider, boolean threadSafe) {
+        // Flag first, so a reader that finds the provider also finds it flagged
+        if (threadSafe) {
+            threadSafeProviders.put(provider, Boolean.TRUE);
+        }
         providers.put(name.toLowerCase(), provider);
     }
 
+    /**
+     * Turns the provider maps into immutable tables once startup registration is done.
+     */
+    public static void freeze() {
+        providers.freeze();
+        threadSafeProviders.freeze();
+    }
+
+    /**
+     * Switches completion from prefix filtering to {@link RankedMatcher}: the best {@code limit}
+     * prefix, word, substring or subsequence matches, best first. 0 switches it off again.
+     */
+    public static void setRankedLimit(int limit) {
+        rankedLimit = Math.max(0, limit);
+    }
+
+    public static int getRankedLimit() {
+        return rankedLimit;
+    }
+
+    public static boolean isRanked() {
+        return rankedLimit > 0;
+    }
+
+    public static boolean isThreadSafe(CompletionProvider provider) {
+        if (provider instanceof NameIndex) {
+            return ((NameIndex<?>) provider).isLive();
+        }
+        return threadSafeProviders.containsKey(provider);
+    }
+
+    /**
+     * Registers a provider over a fixed set of values, completed by binary search instead of a scan.
+     */
+    public static void registerStaticProvider(String name, Collection<String> values) {
+        registerProvider(name, PrefixIndex.of(values));
+    }
+
     public static List<String> resolve(Method method, CommandSender sender, String[] args, List<String> wildcards, String[] completions) {
-        Parameter[] parameters = method.getParameters();
+        return resolve(ParameterSpec.of(method), sender, args, wildcards, completions);
+    }
+
+    public static List<String> resolve(ParameterSpec[] parameters, CommandSender sender, String[] args, List<String> wildcards, String[] completions) {
 
         String[] fullArgs;
         if (wildcards != null && !wildcards.isEmpty()) {
@@ -61,13 +115,59 @@ public class CompletionResolver {
         } else {
             fullArgs = args;
         }
-        
-        int argIndexToFind = fullArgs.length - 1; 
+        return resolve(parameters, ParameterPlan.compile(parameters), sender, InvocationContext.of(sender, fullArgs), completions);
+    }
+
+    /**
+     * Resolves completions for the last positional of a dispatch. Tokens consumed as flags do not
+     * count as positionals, and a token starting with {@code -} is completed with the flags the
+     * method declares and that were not used yet.
+     */
+    public static List<String> resolve(ParameterSpec[] parameters, ParameterPlan plan, CommandSender sender, InvocationContext context, String[] completions) {
+        int positionalCount = context.positionalCount();
+        if (positionalCount == 0) {
+            return null;
+        }
+        int last = positionalCount - 1;
+        String current = context.positional(last);
+
+        boolean[] flagTokens = null;
+        if (plan.flagCount() > 0) {
+            boolean[] flagFound = new boolean[plan.flagCount()];
+            flagTokens = plan.matchFlags(context, last, flagFound, new String[plan.flagCount()]);
+            boolean quoted = context.getLexer().kind(context.positionalToken(last)) == CommandLexer.QUOTED;
+            if (!quoted && current.startsWith("-")) {
+                String lowerToken = current.toLowerCase();
+                List<String> flagSuggestions = new ArrayList<>();
+                String[] flags = plan.getFlags();
+                for (int i = 0; i < flags.length; i++) {
+                    if (!flagFound[i] && flags[i].toLowerCase().startsWith(lowerToken)) {
+                        flagSuggestions.add(flags[i]);
+                    }
+                }
+                if (!flagSuggestions.isEmpty()) {
+                    return flagSuggestions;
+                }
+            }
+        }
+
+        String[] fullArgs = new String[positionalCount];
+        int argIndexToFind = 0;
+        for (int j = 0; j < positionalCount; j++) {
+            fullArgs[j] = context.positional(j);
+            if (j < last && (flagTokens == null || !flagTokens[j])) {
+                argIndexToFind++;
+            }
+        }
         int currentArgIndex = 0;
+        String token = fullArgs[fullArgs.length - 1];
 
-        for (Parameter param : parameters) {
+        for (ParameterSpec param : parameters) {
             Class<?> type = param.getType();
             
+            if (param.isFlag()) {
+                continue;
+            }
             if (CommandSender.class.isAssignableFrom(type) && !Player.class.isAssignableFrom(type)) {
                 continue;
             }
@@ -77,42 +177,70 @@ public class CompletionResolver {
             
             if (currentArgIndex == argIndexToFind) {
                 java.util.List<String> rawCompletions = null;
+                CompletionProvider provider = null;
                 
                 if (completions != null && currentArgIndex < completions.length) {
                     String providerName = completions[currentArgIndex];
                     if (providerName != null && !providerName.isEmpty()) {
+                        if (context.isAsync() && !TabRegistry.isThreadSafe(providerName)) {
+                            context.requireSync();
+                            return null;
+                        }
                         rawCompletions = TabRegistry.getCompletions(providerName, sender);
                     }
                 }
 
-                if (rawCompletions == null && param.isAnnotationPresent(Tab.class)) {
-                    String providerName = param.getAnnotation(Tab.class).value();
-                    CompletionProvider provider = providers.get(providerName.toLowerCase());
-                    if (provider != null) {
-                        rawCompletions = provider.getSuggestions(sender, fullArgs);
-                    }
+                if (rawCompletions == null && param.getTab() != null) {
+                    String providerName = param.getTab();
+                    provider = providers.get(providerName.toLowerCase());
+                }
+
+                if (rawCompletions == null && provider == null && param.hasChoices()) {
+                    provider = param.getChoices().completions();
                 }
                 
-                if (rawCompletions == null) {
+                if (rawCompletions == null && provider == null) {
                     if (Player.class.isAssignableFrom(type)) {
-                        rawCompletions = providers.get("players").getSuggestions(sender, fullArgs);
+                        provider = providers.get("players");
                     } else if (World.class.isAssignableFrom(type)) {
-                        rawCompletions = providers.get("worlds").getSuggestions(sender, fullArgs);
+                        provider = providers.get("worlds");
                     } else if (Boolean.class.isAssignableFrom(type) || boolean.class.isAssignableFrom(type)) {
-                        rawCompletions = providers.get("boolean").getSuggestions(sender, fullArgs);
+                        provider = providers.get("boolean");
                     } else if (Material.class.isAssignableFrom(type)) {
-                        rawCompletions = providers.get("materials").getSuggestions(sender, fullArgs);
+                        provider = providers.get("materials");
                     } else if (Sound.class.isAssignableFrom(type)) {
-                        rawCompletions = providers.get("sounds").getSuggestions(sender, fullArgs);
-                    } else if (EntityType.class.isAssignableFrom(type)) {
-                        rawCompletions = providers.get("entity_types").getSuggestions(sender, fullArgs);
+                        provider = providers.get("sounds");
+                    } else if (type.isEnum()) {
+                        provider = LiteralTable.ofEnumType(type).completions();
                     }
                 }
+
+                int limit = rankedLimit;
+                if (provider instanceof PrefixIndex) {
+                    return limit > 0 ? ((PrefixIndex) provider).rank(token, limit) : ((PrefixIndex) provider).complete(token);
+                }
+                if (provider instanceof NameIndex && limit == 0) {
+                    if (context.isAsync() && !isThreadSafe(provider)) {
+                        context.requireSync();
+                        return null;
+                    }
+                    return ((NameIndex<?>) provider).complete(token);
+                }
+                if (rawCompletions == null && provider != null) {
+                    if (context.isAsync() && !isThreadSafe(provider)) {
+                        context.requireSync();
+                        return null;
+                    }
+                    rawCompletions = provider.getSuggestions(sender, fullArgs);
+                }
                 
+                if (rawCompletions != null && limit > 0) {
+                    return RankedMatcher.rank(rawCompletions, token, limit);
+                }
                 if (rawCompletions != null) {
-                    String token = fullArgs[fullArgs.length - 1].toLowerCase();
+                    String lowerToken = token.toLowerCase();
                     return rawCompletions.stream()
-                        .filter(s -> s.toLowerCase().startsWith(token))
+                        .filter(s -> s.toLowerCase().startsWith(lowerToken))
                         .collect(Collectors.toList());
                 }
                 
@@ -1,37 +1,54 @@
 package com.dami.easyCommands.internal;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Per-player command cooldowns. Each command's canonical path maps to an int id (see
+ * {@link #commandId(String[])}), so the key does not depend on how the player spelled the path or
+ * which alias they used, and survives the tree being rebuilt; the expiries live in a
+ * {@link CooldownTable} that forgets them after they run out.
+ */
 public class CooldownManager {
-    
-    // CommandPath -> (PlayerUUID -> ExpiryTimeMillis)
-    private static final Map<String, Map<UUID, Long>> cooldowns = new HashMap<>();
-
-    public static boolean isOnCooldown(String commandPath, UUID playerId) {
-        Map<UUID, Long> commandCooldowns = cooldowns.get(commandPath);
-        if (commandCooldowns == null) {
-            return false;
-        }
-        Long expiry = commandCooldowns.get(playerId);
-        return expiry != null && System.currentTimeMillis() < expiry;
+
+    private static final AtomicInteger nextCommandId = new AtomicInteger();
+    // Only declared paths are interned, so this grows with the commands, not with what players type
+    private static final Map<String, Integer> commandIds = new ConcurrentHashMap<>();
+
+    private static final CooldownTable cooldowns = new CooldownTable();
+
+    /**
+     * The id of a command's cooldowns, the same for every build of the command at that path.
+     */
+    public static int commandId(String[] canonicalPath) {
+        return commandIds.computeIfAbsent(String.join(" ", canonicalPath).toLowerCase(), path -> nextCommandId.getAndIncrement());
+    }
+
+    public static boolean isOnCooldown(int commandId, UUID playerId) {
+        return cooldowns.remainingMillis(commandId, playerId) > 0;
+    }
+
+    public static long getRemainingSeconds(int commandId, UUID playerId) {
+        return toSeconds(cooldowns.remainingMillis(commandId, playerId));
+    }
+
+    public static void setCooldown(int commandId, UUID playerId, int seconds) {
+        cooldowns.set(commandId, playerId, seconds * 1000L);
     }
 
-    public static long getRemainingSeconds(String commandPath, UUID playerId) {
-        Map<UUID, Long> commandCooldowns = cooldowns.get(commandPath);
-        if (commandCooldowns == null) {
-            return 0;
-        }
-        Long expiry = commandCooldowns.get(playerId);
-        if (expiry == null || System.currentTimeMillis() >= expiry) {
-            return 0;
-        }
-        return (expiry - System.currentTimeMillis()) / 1000 + 1; // +1 to prevent 0s display
+    /**
+     * Starts the cooldown unless one is still running, in one step, so two calls racing from
+     * async commands cannot both get through.
+     *
+     * @return 0 when the cooldown was started, else the seconds left on the running one
+     */
+    public static long tryAcquire(int commandId, UUID playerId, int seconds) {
+        return toSeconds(cooldowns.acquire(commandId, playerId, seconds * 1000L));
     }
 
-    public static void setCooldown(String commandPath, UUID playerId, int seconds) {
-        cooldowns.computeIfAbsent(commandPath, k -> new HashMap<>())
-                 .put(playerId, System.currentTimeMillis() + (seconds * 1000L));
+    private static long toSeconds(long millis) {
+        return millis <= 0 ? 0 : millis / 1000 + 1; // +1 to prevent 0s display
     }
 }
@@ -0,0 +1,247 @@
+package com.dami.easyCommands.internal;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Cooldown expiries keyed by command id and player, without boxing: the id and the two halves of
+ * the UUID sit in parallel primitive arrays of an open-addressing table (linear probing, deletion
+ * by backward shift, so no tombstones pile up).
+ * <p>
+ * Expired entries are reclaimed by a hashed timing wheel of one-second ticks. Every cooldown that
+ * is set is also filed under the tick it expires in; each call first advances the wheel to the
+ * current tick and removes whatever the passed buckets still hold, so reclaiming costs O(1) per
+ * entry. Cooldowns longer than a full turn of the wheel simply stay in their bucket for another turn.
+ * <p>
+ * All operations lock the table, so {@link #acquire} checks and starts a cooldown in one step.
+ */
+public final class CooldownTable {
+
+    static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    // A wheel entry is the command id, both UUID halves and the expiry it was filed with
+    private static final int STRIDE = 4;
+
+    private final LongSupplier clock;
+
+    private int[] commands;
+    private long[] most;
+    private long[] least;
+    private long[] expiries; // 0 marks a free slot
+    private int mask;
+    private int size;
+
+    private final long[][] buckets = new long[WHEEL_SIZE][];
+    private final int[] bucketSizes = new int[WHEEL_SIZE];
+    private long lastTick;
+
+    public CooldownTable() {
+        this(System::currentTimeMillis);
+    }
+
+    public CooldownTable(LongSupplier clock) {
+        this.clock = clock;
+        allocate(16);
+        this.lastTick = clock.getAsLong() / TICK_MILLIS;
+    }
+
+    /**
+     * Milliseconds left on the cooldown, 0 when there is none.
+     */
+    public synchronized long remainingMillis(int command, UUID player) {
+        long now = advance();
+        int slot = find(command, player.getMostSignificantBits(), player.getLeastSignificantBits());
+        return slot < 0 ? 0 : Math.max(0, expiries[slot] - now);
+    }
+
+    /**
+     * Starts or replaces a cooldown; 0 or less clears it.
+     */
+    public synchronized void set(int command, UUID player, long millis) {
+        long now = advance();
+        put(command, player.getMostSignificantBits(), player.getLeastSignificantBits(), now, millis);
+    }
+
+    /**
+     * Starts the cooldown unless one is still running.
+     *
+     * @return 0 when the cooldown was started, else the milliseconds left on the running one
+     */
+    public synchronized long acquire(int command, UUID player, long millis) {
+        long now = advance();
+        long mostBits = player.getMostSignificantBits();
+        long leastBits = player.getLeastSignificantBits();
+        int slot = find(command, mostBits, leastBits);
+        if (slot >= 0 && expiries[slot] > now) {
+            return expiries[slot] - now;
+        }
+        put(command, mostBits, leastBits, now, millis);
+        return 0;
+    }
+
+    /**
+     * The number of stored cooldowns, including expired ones the wheel has not reached yet.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        allocate(16);
+        Arrays.fill(buckets, null);
+        Arrays.fill(bucketSizes, 0);
+    }
+
+    private void put(int command, long mostBits, long leastBits, long now, long millis) {
+        int slot = find(command, mostBits, leastBits);
+        if (millis <= 0) {
+            if (slot >= 0) {
+                removeAt(slot);
+            }
+            return;
+        }
+        long expiry = now + millis;
+        if (slot < 0) {
+            if ((size + 1) * 2 > expiries.length) {
+                resize(expiries.length * 2);
+            }
+            slot = hash(command, mostBits, leastBits) & mask;
+            while (expiries[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            commands[slot] = command;
+            most[slot] = mostBits;
+            least[slot] = leastBits;
+            size++;
+        }
+        expiries[slot] = expiry;
+        schedule(command, mostBits, leastBits, expiry);
+    }
+
+    private int find(int command, long mostBits, long leastBits) {
+        for (int slot = hash(command, mostBits, leastBits) & mask; expiries[slot] != 0; slot = (slot + 1) & mask) {
+            if (commands[slot] == command && most[slot] == mostBits && least[slot] == leastBits) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Empties a slot and moves later entries of the probe run back into the gap, so lookups never
+     * stop early at it.
+     */
+    private void removeAt(int slot) {
+        int hole = slot;
+        for (int next = (hole + 1) & mask; expiries[next] != 0; next = (next + 1) & mask) {
+            int home = hash(commands[next], most[next], least[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                commands[hole] = commands[next];
+                most[hole] = most[next];
+                least[hole] = least[next];
+                expiries[hole] = expiries[next];
+                hole = next;
+            }
+        }
+        expiries[hole] = 0;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        int[] oldCommands = commands;
+        long[] oldMost = most;
+        long[] oldLeast = least;
+        long[] oldExpiries = expiries;
+        allocate(capacity);
+        for (int i = 0; i < oldExpiries.length; i++) {
+            if (oldExpiries[i] == 0) continue;
+            int slot = hash(oldCommands[i], oldMost[i], oldLeast[i]) & mask;
+            while (expiries[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            commands[slot] = oldCommands[i];
+            most[slot] = oldMost[i];
+            least[slot] = oldLeast[i];
+            expiries[slot] = oldExpiries[i];
+            size++;
+        }
+    }
+
+    private void allocate(int capacity) {
+        commands = new int[capacity];
+        most = new long[capacity];
+        least = new long[capacity];
+        expiries = new long[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    /**
+     * Files the entry under the first tick that starts after it expires, so it is expired by the
+     * time the wheel gets there.
+     */
+    private void schedule(int command, long mostBits, long leastBits, long expiry) {
+        int bucket = (int) (expiry / TICK_MILLIS + 1) & WHEEL_MASK;
+        long[] entries = buckets[bucket];
+        int used = bucketSizes[bucket];
+        if (entries == null) {
+            entries = new long[STRIDE * 4];
+            buckets[bucket] = entries;
+        } else if (used + STRIDE > entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+            buckets[bucket] = entries;
+        }
+        entries[used] = command;
+        entries[used + 1] = mostBits;
+        entries[used + 2] = leastBits;
+        entries[used + 3] = expiry;
+        bucketSizes[bucket] = used + STRIDE;
+    }
+
+    /**
+     * Runs the buckets of every tick since the last call, at most one full turn, and returns now.
+     */
+    private long advance() {
+        long now = clock.getAsLong();
+        long tick = now / TICK_MILLIS;
+        if (tick > lastTick) {
+            long steps = Math.min(tick - lastTick, WHEEL_SIZE);
+            for (long t = tick - steps + 1; t <= tick; t++) {
+                expire((int) t & WHEEL_MASK, now);
+            }
+            lastTick = tick;
+        }
+        return now;
+    }
+
+    private void expire(int bucket, long now) {
+        long[] entries = buckets[bucket];
+        int used = bucketSizes[bucket];
+        int kept = 0;
+        for (int i = 0; i < used; i += STRIDE) {
+            int slot = find((int) entries[i], entries[i + 1], entries[i + 2]);
+            // Entries whose cooldown was replaced or cleared since are stale and simply dropped
+            if (slot < 0 || expiries[slot] != entries[i + 3]) continue;
+            if (expiries[slot] <= now) {
+                removeAt(slot);
+            } else {
+                // Longer than a turn of the wheel: check again next turn
+                System.arraycopy(entries, i, entries, kept, STRIDE);
+                kept += STRIDE;
+            }
+        }
+        bucketSizes[bucket] = kept;
+        if (kept == 0 && entries != null && entries.length > STRIDE * 64) {
+            buckets[bucket] = null;
+        }
+    }
+
+    private static int hash(int command, long mostBits, long leastBits) {
+        long h = mostBits * 0x9E3779B97F4A7C15L ^ leastBits ^ (long) command * 0xC2B2AE3D27D4EB4FL;
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        return (int) (h ^ (h >>> 29));
+    }
+}
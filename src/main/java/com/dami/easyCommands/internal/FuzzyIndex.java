@@ -0,0 +1,120 @@
+package com.dami.easyCommands.internal;
+
+import com.dami.easyCommands.util.StringUtil;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Deletion-neighbourhood index over the child keys of one node, used for "did you mean".
+ * Every key is stored under each string reachable by deleting up to {@link #MAX_DISTANCE}
+ * characters. Two strings within that edit distance always share such a deletion, so a lookup
+ * only verifies the few keys found under the input's own deletions instead of comparing against
+ * every sibling.
+ */
+final class FuzzyIndex {
+
+    static final int MAX_DISTANCE = 2;
+
+    static final FuzzyIndex EMPTY = new FuzzyIndex(new String[0], new int[0], new HashMap<>(), 0, 0);
+
+    private final String[] folded;
+    private final int[] keyIndexes;
+    private final Map<String, int[]> deletions;
+    private final int minLength;
+    private final int maxLength;
+
+    private FuzzyIndex(String[] folded, int[] keyIndexes, Map<String, int[]> deletions, int minLength, int maxLength) {
+        this.folded = folded;
+        this.keyIndexes = keyIndexes;
+        this.deletions = deletions;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Indexes the given keys, skipping the wildcard. Lookups return positions in {@code keys}.
+     */
+    static FuzzyIndex build(String[] keys) {
+        List<String> folded = new ArrayList<>();
+        List<Integer> keyIndexes = new ArrayList<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (!keys[i].equals(CompiledNode.WILDCARD)) {
+                folded.add(fold(keys[i]));
+                keyIndexes.add(i);
+            }
+        }
+        if (folded.isEmpty()) {
+            return EMPTY;
+        }
+
+        Map<String, List<Integer>> lists = new HashMap<>();
+        int minLength = Integer.MAX_VALUE;
+        int maxLength = 0;
+        for (int entry = 0; entry < folded.size(); entry++) {
+            String key = folded.get(entry);
+            minLength = Math.min(minLength, key.length());
+            maxLength = Math.max(maxLength, key.length());
+            for (String deletion : deletions(key)) {
+                lists.computeIfAbsent(deletion, k -> new ArrayList<>(1)).add(entry);
+            }
+        }
+
+        Map<String, int[]> deletions = new HashMap<>(lists.size() * 2);
+        for (Map.Entry<String, List<Integer>> list : lists.entrySet()) {
+            deletions.put(list.getKey(), list.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        return new FuzzyIndex(folded.toArray(new String[0]), keyIndexes.stream().mapToInt(Integer::intValue).toArray(),
+                deletions, minLength, maxLength);
+    }
+
+    /**
+     * The position of the closest key within {@link #MAX_DISTANCE} that passes {@code filter}, or -1.
+     * Ties go to the key that comes first.
+     */
+    int closest(String input, IntPredicate filter) {
+        if (folded.length == 0 || input.length() > maxLength + MAX_DISTANCE || input.length() < minLength - MAX_DISTANCE) {
+            return -1;
+        }
+        String query = fold(input);
+        boolean[] seen = new boolean[folded.length];
+        int best = -1;
+        int bestDistance = MAX_DISTANCE + 1;
+        for (String deletion : deletions(query)) {
+            int[] candidates = deletions.get(deletion);
+            if (candidates == null) continue;
+            for (int entry : candidates) {
+                if (seen[entry]) continue;
+                seen[entry] = true;
+                int distance = StringUtil.levenshteinDistance(query, folded[entry], MAX_DISTANCE);
+                if ((distance < bestDistance || (distance == bestDistance && entry < best))
+                        && filter.test(keyIndexes[entry])) {
+                    best = entry;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best < 0 ? -1 : keyIndexes[best];
+    }
+
+    private static Set<String> deletions(String key) {
+        Set<String> result = new HashSet<>();
+        result.add(key);
+        for (int i = 0; i < key.length(); i++) {
+            String once = key.substring(0, i) + key.substring(i + 1);
+            result.add(once);
+            for (int j = i; j < once.length(); j++) {
+                result.add(once.substring(0, j) + once.substring(j + 1));
+            }
+        }
+        return result;
+    }
+
+    private static String fold(String s) {
+        char[] chars = new char[s.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = StringUtil.foldCase(s.charAt(i));
+        }
+        return new String(chars);
+    }
+}
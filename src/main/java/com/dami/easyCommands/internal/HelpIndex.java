@@ -0,0 +1,256 @@
+package com.dami.easyCommands.internal;
+
+import com.dami.easyCommands.core.MessageHandler;
+import com.dami.easyCommands.model.MessageKey;
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Every help line of a compiled tree, collected once when the tree is built. Entries are grouped
+ * into buckets by the permission they need, so the lines a sender can see are found by checking
+ * each distinct permission once and merging the granted buckets back into tree order.
+ * <p>
+ * With a {@link MessageHandler.DefaultMessageHandler}, rendered pages are cached per permission
+ * profile (the set of granted buckets) and page number. The cache is dropped when the handler, its
+ * messages or the command name change; a new tree gets a new index.
+ */
+public final class HelpIndex {
+
+    public static final int ITEMS_PER_PAGE = 7;
+
+    private static final int MAX_CACHED_PAGES = 512;
+
+    private final List<CommandNode.HelpEntry> entries;
+    private final int[] bucketPermissions;
+    private final int[][] bucketPositions;
+
+    private final Map<PageKey, Component[]> pages = new ConcurrentHashMap<>();
+    private volatile MessageHandler renderedBy;
+    private volatile int renderedVersion;
+    private volatile String renderedCommand;
+
+    private HelpIndex(List<CommandNode.HelpEntry> entries, int[] entryPermissions) {
+        this.entries = entries;
+
+        Map<Integer, List<Integer>> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < entryPermissions.length; i++) {
+            buckets.computeIfAbsent(entryPermissions[i], k -> new ArrayList<>()).add(i);
+        }
+        this.bucketPermissions = new int[buckets.size()];
+        this.bucketPositions = new int[buckets.size()][];
+        int bucket = 0;
+        for (Map.Entry<Integer, List<Integer>> entry : buckets.entrySet()) {
+            bucketPermissions[bucket] = entry.getKey();
+            bucketPositions[bucket] = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            bucket++;
+        }
+    }
+
+    /**
+     * Indexes the help lines below a command's root, skipping a root-level wildcard.
+     */
+    public static HelpIndex ofRoot(CompiledNode root) {
+        List<CommandNode.HelpEntry> entries = new ArrayList<>();
+        List<Integer> permissions = new ArrayList<>();
+        for (int i = 0; i < root.size(); i++) {
+            if (root.keyAt(i).equals(CompiledNode.WILDCARD)) continue;
+            collect(root.childAt(i), root.keyAt(i), entries, permissions);
+        }
+        return new HelpIndex(entries, permissions.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Indexes the help lines of a node and everything below it, with paths starting at {@code currentPath}.
+     */
+    public static HelpIndex of(CompiledNode node, String currentPath) {
+        List<CommandNode.HelpEntry> entries = new ArrayList<>();
+        List<Integer> permissions = new ArrayList<>();
+        collect(node, currentPath, entries, permissions);
+        return new HelpIndex(entries, permissions.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // A line is visible exactly when its own permission is granted: that already makes every node above it accessible
+    private static void collect(CompiledNode node, String currentPath, List<CommandNode.HelpEntry> entries, List<Integer> permissions) {
+        SubCommandInfo info = node.getSubCommandInfo();
+        if (info != null) {
+            entries.add(new CommandNode.HelpEntry(
+                currentPath,
+                info.getDescription(),
+                info.getUsage().isEmpty() ? currentPath : info.getUsage()
+            ));
+            permissions.add(info.getPermissionId());
+        }
+        for (int i = 0; i < node.size(); i++) {
+            String nextPath = currentPath.isEmpty() ? node.keyAt(i) : currentPath + " " + node.keyAt(i);
+            collect(node.childAt(i), nextPath, entries, permissions);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * The entries the sender may see, in tree order.
+     */
+    public List<CommandNode.HelpEntry> visibleEntries(PermissionSnapshot permissions) {
+        long[] profile = profile(permissions);
+        List<CommandNode.HelpEntry> visible = new ArrayList<>();
+        merge(profile, 0, Integer.MAX_VALUE, visible);
+        return visible;
+    }
+
+    public void show(CommandSender sender, MessageHandler messageHandler, String baseCommandName, int page) {
+        long[] profile = profile(PermissionCache.snapshot(sender));
+        int visible = 0;
+        for (int bucket = 0; bucket < bucketPermissions.length; bucket++) {
+            if (granted(profile, bucket)) {
+                visible += bucketPositions[bucket].length;
+            }
+        }
+
+        int maxPage = (int) Math.ceil(visible / (double) ITEMS_PER_PAGE);
+        if (maxPage == 0) maxPage = 1;
+
+        if (page < 1) page = 1;
+        if (page > maxPage) page = maxPage;
+
+        if (messageHandler instanceof MessageHandler.DefaultMessageHandler) {
+            MessageHandler.DefaultMessageHandler defaultHandler = (MessageHandler.DefaultMessageHandler) messageHandler;
+            checkRenderedBy(defaultHandler, baseCommandName);
+
+            PageKey key = new PageKey(profile, page);
+            Component[] lines = pages.get(key);
+            if (lines == null) {
+                lines = render(defaultHandler, baseCommandName, profile, page, maxPage);
+                if (pages.size() >= MAX_CACHED_PAGES) {
+                    pages.clear();
+                }
+                pages.put(key, lines);
+            }
+            for (Component line : lines) {
+                sender.sendMessage(line);
+            }
+            return;
+        }
+
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("command", baseCommandName);
+        messageHandler.sendMessage(sender, MessageKey.HELP_HEADER, placeholders);
+        for (CommandNode.HelpEntry entry : pageEntries(profile, page)) {
+            messageHandler.sendMessage(sender, MessageKey.HELP_COMMAND_FORMAT, linePlaceholders(placeholders, entry));
+        }
+        messageHandler.sendMessage(sender, MessageKey.HELP_FOOTER, footerPlaceholders(placeholders, page, maxPage));
+    }
+
+    private Component[] render(MessageHandler.DefaultMessageHandler messageHandler, String baseCommandName, long[] profile, int page, int maxPage) {
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("command", baseCommandName);
+
+        List<CommandNode.HelpEntry> pageEntries = pageEntries(profile, page);
+        Component[] lines = new Component[pageEntries.size() + 2];
+        lines[0] = messageHandler.render(MessageKey.HELP_HEADER, placeholders);
+        for (int i = 0; i < pageEntries.size(); i++) {
+            lines[i + 1] = messageHandler.render(MessageKey.HELP_COMMAND_FORMAT, linePlaceholders(placeholders, pageEntries.get(i)));
+        }
+        lines[lines.length - 1] = messageHandler.render(MessageKey.HELP_FOOTER, footerPlaceholders(placeholders, page, maxPage));
+        return lines;
+    }
+
+    private synchronized void checkRenderedBy(MessageHandler.DefaultMessageHandler messageHandler, String baseCommandName) {
+        if (renderedBy != messageHandler || renderedVersion != messageHandler.getVersion() || !baseCommandName.equals(renderedCommand)) {
+            pages.clear();
+            renderedBy = messageHandler;
+            renderedVersion = messageHandler.getVersion();
+            renderedCommand = baseCommandName;
+        }
+    }
+
+    private static Map<String, String> linePlaceholders(Map<String, String> placeholders, CommandNode.HelpEntry entry) {
+        Map<String, String> cmdPlaceholders = new HashMap<>(placeholders);
+        cmdPlaceholders.put("sub", entry.path);
+        cmdPlaceholders.put("description", entry.description);
+        cmdPlaceholders.put("usage", entry.usage);
+        return cmdPlaceholders;
+    }
+
+    private static Map<String, String> footerPlaceholders(Map<String, String> placeholders, int page, int maxPage) {
+        Map<String, String> footer = new HashMap<>(placeholders);
+        footer.put("page", String.valueOf(page));
+        footer.put("max_page", String.valueOf(maxPage));
+        footer.put("next_page", String.valueOf(page < maxPage ? page + 1 : maxPage));
+        footer.put("prev_page", String.valueOf(page > 1 ? page - 1 : 1));
+        return footer;
+    }
+
+    private List<CommandNode.HelpEntry> pageEntries(long[] profile, int page) {
+        int start = (page - 1) * ITEMS_PER_PAGE;
+        List<CommandNode.HelpEntry> pageEntries = new ArrayList<>(ITEMS_PER_PAGE);
+        merge(profile, start, start + ITEMS_PER_PAGE, pageEntries);
+        return pageEntries;
+    }
+
+    /**
+     * Merges the granted buckets by tree position, adding the visible entries numbered [from, to).
+     */
+    private void merge(long[] profile, int from, int to, List<CommandNode.HelpEntry> out) {
+        int[] heads = new int[bucketPermissions.length];
+        for (int rank = 0; rank < to; rank++) {
+            int best = -1;
+            for (int bucket = 0; bucket < bucketPermissions.length; bucket++) {
+                if (heads[bucket] < bucketPositions[bucket].length && granted(profile, bucket)
+                        && (best < 0 || bucketPositions[bucket][heads[bucket]] < bucketPositions[best][heads[best]])) {
+                    best = bucket;
+                }
+            }
+            if (best < 0) {
+                return;
+            }
+            if (rank >= from) {
+                out.add(entries.get(bucketPositions[best][heads[best]]));
+            }
+            heads[best]++;
+        }
+    }
+
+    private long[] profile(PermissionSnapshot permissions) {
+        long[] profile = new long[(bucketPermissions.length + 63) >>> 6];
+        for (int bucket = 0; bucket < bucketPermissions.length; bucket++) {
+            if (permissions.has(bucketPermissions[bucket])) {
+                profile[bucket >>> 6] |= 1L << bucket;
+            }
+        }
+        return profile;
+    }
+
+    private static boolean granted(long[] profile, int bucket) {
+        return (profile[bucket >>> 6] & (1L << bucket)) != 0;
+    }
+
+    private static final class PageKey {
+        private final long[] profile;
+        private final int page;
+        private final int hash;
+
+        PageKey(long[] profile, int page) {
+            this.profile = profile;
+            this.page = page;
+            this.hash = 31 * Arrays.hashCode(profile) + page;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof PageKey)) return false;
+            PageKey other = (PageKey) o;
+            return page == other.page && Arrays.equals(profile, other.profile);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
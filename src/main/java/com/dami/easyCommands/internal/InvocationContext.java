@@ -0,0 +1,250 @@
+package com.dami.easyCommands.internal;
+
+import com.dami.easyCommands.core.BaseCommand;
+import com.dami.easyCommands.core.MessageHandler;
+import org.bukkit.command.CommandSender;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mutable state of a single dispatch: a cursor over the lexed tokens (see {@link CommandLexer})
+ * and an append-only buffer of captured wildcard tokens. Walking the command tree only moves the
+ * cursor, so no per-level array copies, wildcard lists or path strings are created.
+ * <p>
+ * Contexts are pooled per thread; use {@link #acquire} in a try-with-resources block.
+ * A dispatch that re-enters (e.g. a command running another command) gets a fresh instance.
+ */
+public final class InvocationContext implements AutoCloseable {
+
+    private static final ThreadLocal<InvocationContext> POOL = ThreadLocal.withInitial(() -> new InvocationContext(true));
+
+    private final boolean pooled;
+    private boolean inUse;
+
+    private final CommandLexer lexer = new CommandLexer();
+    private String[] tokens;
+    private int tokenCount;
+    private int offset;
+    private int[] wildcards = new int[4];
+    private int wildcardCount;
+
+    private CommandSender sender;
+    private MessageHandler messageHandler;
+    private String baseCommandName;
+    private BaseCommand parentCommand;
+    private PermissionSnapshot permissions;
+    private boolean async;
+    private boolean syncRequired;
+
+    private String fullPath;
+    private int fullPathOffset = -1;
+
+    private InvocationContext(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    public static InvocationContext acquire(CommandSender sender, String[] args, MessageHandler messageHandler, String baseCommandName, BaseCommand parentCommand) {
+        InvocationContext context = POOL.get();
+        if (context.inUse) {
+            context = new InvocationContext(false);
+        }
+        context.inUse = true;
+        context.init(sender, args, messageHandler, baseCommandName, parentCommand);
+        return context;
+    }
+
+    /**
+     * Creates a standalone context over a plain argument array (no wildcards, cursor at 0).
+     */
+    public static InvocationContext of(CommandSender sender, String[] args) {
+        InvocationContext context = new InvocationContext(false);
+        context.init(sender, args, null, null, null);
+        return context;
+    }
+
+    private void init(CommandSender sender, String[] args, MessageHandler messageHandler, String baseCommandName, BaseCommand parentCommand) {
+        this.sender = sender;
+        if (args != null) {
+            lexer.lex(args);
+        } else {
+            lexer.clear();
+        }
+        this.tokens = lexer.getTokens();
+        this.tokenCount = lexer.size();
+        this.messageHandler = messageHandler;
+        this.baseCommandName = baseCommandName;
+        this.parentCommand = parentCommand;
+        this.permissions = null;
+        this.async = false;
+        this.syncRequired = false;
+        this.offset = 0;
+        this.wildcardCount = 0;
+        this.fullPath = null;
+        this.fullPathOffset = -1;
+    }
+
+    @Override
+    public void close() {
+        if (!pooled) {
+            return;
+        }
+        init(null, null, null, null, null);
+        inUse = false;
+    }
+
+    public CommandSender getSender() {
+        return sender;
+    }
+
+    public MessageHandler getMessageHandler() {
+        return messageHandler;
+    }
+
+    public String getBaseCommandName() {
+        return baseCommandName;
+    }
+
+    public BaseCommand getParentCommand() {
+        return parentCommand;
+    }
+
+    /**
+     * The sender's permission snapshot, fetched from {@link PermissionCache} on first use.
+     */
+    public PermissionSnapshot getPermissions() {
+        if (permissions == null) {
+            permissions = PermissionCache.snapshot(sender);
+        }
+        return permissions;
+    }
+
+    /**
+     * Marks this context as running off the main thread, for async tab completion.
+     */
+    public void markAsync() {
+        this.async = true;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Called by an async completion that reached code not declared thread-safe. The caller stops
+     * and the completion is redone on the main thread.
+     */
+    public void requireSync() {
+        this.syncRequired = true;
+    }
+
+    public boolean isSyncRequired() {
+        return syncRequired;
+    }
+
+    /**
+     * The raw arguments as received, before lexing.
+     */
+    public String[] getArgs() {
+        return lexer.getRaw();
+    }
+
+    public CommandLexer getLexer() {
+        return lexer;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Number of tokens after the cursor.
+     */
+    public int remaining() {
+        return tokenCount - offset;
+    }
+
+    public String peek() {
+        return tokens[offset];
+    }
+
+    public String peek(int ahead) {
+        return tokens[offset + ahead];
+    }
+
+    public void advance() {
+        offset++;
+    }
+
+    public void retreat() {
+        offset--;
+    }
+
+    /**
+     * Captures the token just consumed by {@link #advance()} as a wildcard value.
+     */
+    public void pushWildcard() {
+        if (wildcardCount == wildcards.length) {
+            wildcards = Arrays.copyOf(wildcards, wildcards.length * 2);
+        }
+        wildcards[wildcardCount++] = offset - 1;
+    }
+
+    public void popWildcard() {
+        wildcardCount--;
+    }
+
+    public int wildcardCount() {
+        return wildcardCount;
+    }
+
+    /**
+     * Number of positional arguments seen by a leaf: captured wildcards followed by the remaining tokens.
+     */
+    public int positionalCount() {
+        return wildcardCount + tokenCount - offset;
+    }
+
+    public String positional(int index) {
+        return tokens[positionalToken(index)];
+    }
+
+    /**
+     * The lexer index of a positional argument, for looking up its kind or offset.
+     */
+    public int positionalToken(int index) {
+        if (index < wildcardCount) {
+            return wildcards[index];
+        }
+        return offset + index - wildcardCount;
+    }
+
+    /**
+     * Copies the tokens after the cursor. Only used where a user-facing API expects an array.
+     */
+    public String[] remainingArgs() {
+        return Arrays.copyOfRange(tokens, offset, tokenCount);
+    }
+
+    /**
+     * Copies the captured wildcards. Only used where a user-facing API expects a list.
+     */
+    public List<String> wildcardList() {
+        String[] values = new String[wildcardCount];
+        for (int i = 0; i < wildcardCount; i++) {
+            values[i] = tokens[wildcards[i]];
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * The consumed tokens joined by spaces, built on first use for the current cursor position.
+     */
+    public String fullPath() {
+        if (fullPathOffset != offset) {
+            fullPath = String.join(" ", Arrays.asList(tokens).subList(0, offset));
+            fullPathOffset = offset;
+        }
+        return fullPath;
+    }
+}
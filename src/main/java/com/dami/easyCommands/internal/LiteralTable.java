@@ -0,0 +1,189 @@
+package com.dami.easyCommands.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Case-insensitive literal → value table, built once per enum type or {@code @Choices} set.
+ * Names are folded character by character into an open-addressing table, so a lookup hashes the
+ * token in place and compares folded characters: no exception for unknown names and no
+ * lower-cased copy of the token.
+ * <p>
+ * The same table backs completion: {@link #completions()} indexes exactly the names it accepts.
+ */
+public final class LiteralTable<T> {
+
+    private static final ClassValue<LiteralTable<?>> ENUMS = new ClassValue<>() {
+        @Override
+        protected LiteralTable<?> computeValue(Class<?> type) {
+            return build(type);
+        }
+    };
+
+    private final char[][] keys;
+    private final int[] hashes;
+    private final Object[] values;
+    private final int mask;
+    private final List<String> names;
+    private volatile PrefixIndex completions;
+
+    private LiteralTable(List<String> names, List<T> values) {
+        int capacity = Integer.highestOneBit(Math.max(2, names.size() * 2 - 1)) << 1;
+        this.keys = new char[capacity][];
+        this.hashes = new int[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        List<String> accepted = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            if (insert(names.get(i), values.get(i))) {
+                accepted.add(names.get(i));
+            }
+        }
+        this.names = Collections.unmodifiableList(accepted);
+    }
+
+    /**
+     * The table of an enum's constant names, built on first use and shared from then on.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> LiteralTable<E> ofEnum(Class<E> type) {
+        return (LiteralTable<E>) ENUMS.get(type);
+    }
+
+    /**
+     * Like {@link #ofEnum(Class)} for a type only known at runtime to be an enum.
+     */
+    static LiteralTable<?> ofEnumType(Class<?> type) {
+        return ENUMS.get(type);
+    }
+
+    /**
+     * A table of values under their lower-cased names, for enum-like types that are not enums.
+     */
+    static <T> LiteralTable<T> of(T[] values, Function<T, String> name) {
+        List<String> names = new ArrayList<>(values.length);
+        for (T value : values) {
+            names.add(name.apply(value).toLowerCase());
+        }
+        return new LiteralTable<>(names, List.of(values));
+    }
+
+    /**
+     * A table of literals that map to themselves, as declared (first spelling wins).
+     */
+    public static LiteralTable<String> ofChoices(String... choices) {
+        List<String> list = List.of(choices);
+        return new LiteralTable<>(list, list);
+    }
+
+    private static LiteralTable<?> build(Class<?> type) {
+        Object[] constants = type.getEnumConstants();
+        if (constants == null) {
+            throw new IllegalArgumentException("Not an enum type: " + type.getName());
+        }
+        List<String> names = new ArrayList<>(constants.length);
+        List<Object> values = new ArrayList<>(constants.length);
+        for (Object constant : constants) {
+            names.add(((Enum<?>) constant).name().toLowerCase());
+            values.add(constant);
+        }
+        return new LiteralTable<>(names, values);
+    }
+
+    /**
+     * The value named {@code name}, ignoring case, or null.
+     */
+    public T get(CharSequence name) {
+        return get(name, 0);
+    }
+
+    /**
+     * The value named by {@code name} from {@code offset} on, e.g. past a {@code minecraft:} prefix.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(CharSequence name, int offset) {
+        int hash = hash(name, offset);
+        for (int slot = hash & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && matches(keys[slot], name, offset)) {
+                return (T) values[slot];
+            }
+        }
+        return null;
+    }
+
+    public boolean contains(CharSequence name) {
+        return get(name, 0) != null;
+    }
+
+    /**
+     * The accepted names in declaration order: lower-cased constant names, or the literals as declared.
+     */
+    public List<String> names() {
+        return names;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Completion over the accepted names, created on first use.
+     */
+    public PrefixIndex completions() {
+        PrefixIndex current = completions;
+        if (current == null) {
+            current = PrefixIndex.of(names);
+            completions = current;
+        }
+        return current;
+    }
+
+    private boolean insert(String name, T value) {
+        int hash = hash(name, 0);
+        int slot = hash & mask;
+        while (keys[slot] != null) {
+            if (hashes[slot] == hash && matches(keys[slot], name, 0)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        char[] key = new char[name.length()];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = fold(name.charAt(i));
+        }
+        keys[slot] = key;
+        hashes[slot] = hash;
+        values[slot] = value;
+        return true;
+    }
+
+    private static boolean matches(char[] key, CharSequence name, int offset) {
+        if (key.length != name.length() - offset) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != fold(name.charAt(offset + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence name, int offset) {
+        int hash = 0;
+        for (int i = offset; i < name.length(); i++) {
+            hash = 31 * hash + fold(name.charAt(i));
+        }
+        // Spread the high bits, the table only looks at the low ones
+        return hash ^ (hash >>> 16);
+    }
+
+    private static char fold(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c | 0x20) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
@@ -0,0 +1,56 @@
+package com.dami.easyCommands.internal;
+
+import com.dami.easyCommands.annotations.Async;
+import com.dami.easyCommands.annotations.Confirm;
+import com.dami.easyCommands.annotations.Cooldown;
+import com.dami.easyCommands.annotations.GuiIcon;
+import com.dami.easyCommands.annotations.GuiSlot;
+import com.dami.easyCommands.annotations.Require;
+import com.dami.easyCommands.annotations.SubCommand;
+import com.dami.easyCommands.annotations.SubCommandTab;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * The command annotations of one method, read in a single pass over its declared annotations
+ * instead of one {@code getAnnotation} lookup per annotation type.
+ */
+final class MethodAnnotations {
+
+    SubCommand subCommand;
+    SubCommandTab subCommandTab;
+    boolean async;
+    Cooldown cooldown;
+    Require require;
+    Confirm confirm;
+    GuiIcon guiIcon;
+    GuiSlot guiSlot;
+
+    private MethodAnnotations() {
+    }
+
+    static MethodAnnotations of(Method method) {
+        MethodAnnotations annotations = new MethodAnnotations();
+        for (Annotation annotation : method.getDeclaredAnnotations()) {
+            if (annotation instanceof SubCommand) {
+                annotations.subCommand = (SubCommand) annotation;
+            } else if (annotation instanceof SubCommandTab) {
+                annotations.subCommandTab = (SubCommandTab) annotation;
+            } else if (annotation instanceof Async) {
+                annotations.async = true;
+            } else if (annotation instanceof Cooldown) {
+                annotations.cooldown = (Cooldown) annotation;
+            } else if (annotation instanceof Require) {
+                annotations.require = (Require) annotation;
+            } else if (annotation instanceof Confirm) {
+                annotations.confirm = (Confirm) annotation;
+            } else if (annotation instanceof GuiIcon) {
+                annotations.guiIcon = (GuiIcon) annotation;
+            } else if (annotation instanceof GuiSlot) {
+                annotations.guiSlot = (GuiSlot) annotation;
+            }
+        }
+        return annotations;
+    }
+}
@@ -0,0 +1,224 @@
+package com.dami.easyCommands.internal;
+
+import com.dami.easyCommands.model.CompletionProvider;
+import org.bukkit.command.CommandSender;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Case-insensitive name → value index kept sorted by lower-cased name. Readers binary-search an
+ * immutable snapshot published through a volatile field, so lookups and completions are
+ * logarithmic and safe from any thread; writers copy the arrays under a lock.
+ * <p>
+ * Until {@link #seed} has filled it the index is not live, and reads go to the fallback source
+ * (e.g. {@code Bukkit.getOnlinePlayers()}) instead.
+ */
+public final class NameIndex<T> implements CompletionProvider {
+
+    private final Supplier<? extends Collection<? extends T>> fallback;
+    private final Function<? super T, String> nameOf;
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new String[0], new Object[0]);
+    private volatile boolean live;
+
+    public NameIndex(Supplier<? extends Collection<? extends T>> fallback, Function<? super T, String> nameOf) {
+        this.fallback = fallback;
+        this.nameOf = nameOf;
+    }
+
+    public boolean isLive() {
+        return live;
+    }
+
+    /**
+     * Replaces the contents and makes the index live.
+     */
+    public synchronized void seed(Collection<? extends T> values) {
+        List<T> sorted = new ArrayList<>(values);
+        sorted.sort(Comparator.comparing(value -> nameOf.apply(value).toLowerCase()));
+        String[] lowered = new String[sorted.size()];
+        String[] names = new String[sorted.size()];
+        Object[] objects = new Object[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            names[i] = nameOf.apply(sorted.get(i));
+            lowered[i] = names[i].toLowerCase();
+            objects[i] = sorted.get(i);
+        }
+        snapshot = new Snapshot(lowered, names, objects);
+        live = true;
+    }
+
+    public synchronized void put(T value) {
+        String name = nameOf.apply(value);
+        String lower = name.toLowerCase();
+        Snapshot current = snapshot;
+        int at = Arrays.binarySearch(current.lowered, lower);
+        if (at >= 0) {
+            Object[] values = current.values.clone();
+            String[] names = current.names.clone();
+            values[at] = value;
+            names[at] = name;
+            snapshot = new Snapshot(current.lowered, names, values);
+            return;
+        }
+        int insert = -at - 1;
+        snapshot = new Snapshot(
+                inserted(current.lowered, insert, lower, new String[current.lowered.length + 1]),
+                inserted(current.names, insert, name, new String[current.names.length + 1]),
+                inserted(current.values, insert, value, new Object[current.values.length + 1]));
+    }
+
+    public synchronized void remove(String name) {
+        Snapshot current = snapshot;
+        int at = Arrays.binarySearch(current.lowered, name.toLowerCase());
+        if (at < 0) {
+            return;
+        }
+        snapshot = new Snapshot(
+                removed(current.lowered, at, new String[current.lowered.length - 1]),
+                removed(current.names, at, new String[current.names.length - 1]),
+                removed(current.values, at, new Object[current.values.length - 1]));
+    }
+
+    /**
+     * The value with exactly this name, ignoring case, or null.
+     */
+    public T get(String name) {
+        if (!live) {
+            String lower = name.toLowerCase();
+            for (T value : fallback.get()) {
+                if (nameOf.apply(value).toLowerCase().equals(lower)) return value;
+            }
+            return null;
+        }
+        Snapshot current = snapshot;
+        int at = Arrays.binarySearch(current.lowered, name.toLowerCase());
+        return at >= 0 ? current.value(at) : null;
+    }
+
+    /**
+     * The exact match, else the shortest name starting with {@code name} (the rule of
+     * {@code Bukkit.getPlayer(String)}), or null.
+     */
+    public T find(String name) {
+        if (!live) {
+            String lower = name.toLowerCase();
+            T best = null;
+            int bestDelta = Integer.MAX_VALUE;
+            for (T value : fallback.get()) {
+                String candidate = nameOf.apply(value).toLowerCase();
+                if (candidate.startsWith(lower) && candidate.length() - lower.length() < bestDelta) {
+                    best = value;
+                    bestDelta = candidate.length() - lower.length();
+                    if (bestDelta == 0) break;
+                }
+            }
+            return best;
+        }
+        Snapshot current = snapshot;
+        String lower = name.toLowerCase();
+        int from = current.from(lower);
+        int to = current.to(lower, from);
+        int best = -1;
+        for (int i = from; i < to; i++) {
+            if (best < 0 || current.lowered[i].length() < current.lowered[best].length()) {
+                best = i;
+                if (current.lowered[i].length() == lower.length()) break;
+            }
+        }
+        return best >= 0 ? current.value(best) : null;
+    }
+
+    /**
+     * The names starting with {@code prefix}, ignoring case, in sorted order.
+     */
+    public List<String> complete(String prefix) {
+        if (!live) {
+            String lower = prefix.toLowerCase();
+            List<String> names = new ArrayList<>();
+            for (T value : fallback.get()) {
+                String name = nameOf.apply(value);
+                if (name.toLowerCase().startsWith(lower)) names.add(name);
+            }
+            return names;
+        }
+        Snapshot current = snapshot;
+        String lower = prefix.toLowerCase();
+        int from = current.from(lower);
+        return current.nameList.subList(from, current.to(lower, from));
+    }
+
+    public List<String> names() {
+        return complete("");
+    }
+
+    public int size() {
+        return live ? snapshot.names.length : fallback.get().size();
+    }
+
+    @Override
+    public List<String> getSuggestions(CommandSender sender, String[] args) {
+        return names();
+    }
+
+    private static <E> E[] inserted(E[] source, int at, E element, E[] target) {
+        System.arraycopy(source, 0, target, 0, at);
+        target[at] = element;
+        System.arraycopy(source, at, target, at + 1, source.length - at);
+        return target;
+    }
+
+    private static <E> E[] removed(E[] source, int at, E[] target) {
+        System.arraycopy(source, 0, target, 0, at);
+        System.arraycopy(source, at + 1, target, at, source.length - at - 1);
+        return target;
+    }
+
+    private final class Snapshot {
+        private final String[] lowered;
+        private final String[] names;
+        private final Object[] values;
+        private final List<String> nameList;
+
+        Snapshot(String[] lowered, String[] names, Object[] values) {
+            this.lowered = lowered;
+            this.names = names;
+            this.values = values;
+            this.nameList = Collections.unmodifiableList(Arrays.asList(names));
+        }
+
+        @SuppressWarnings("unchecked")
+        T value(int index) {
+            return (T) values[index];
+        }
+
+        int from(String lowerPrefix) {
+            int low = 0;
+            int high = lowered.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (lowered[mid].compareTo(lowerPrefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        int to(String lowerPrefix, int from) {
+            int low = from;
+            int high = lowered.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (lowered[mid].startsWith(lowerPrefix)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.dami.easyCommands.internal;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.List;
+
+/**
+ * {@link NameIndex}es of the online players and loaded worlds, used by the {@code Player} and
+ * {@code World} converters and the {@code players} and {@code worlds} completions.
+ * <p>
+ * Once {@link #register(Plugin)} has been called the indexes are seeded from the server and kept
+ * up to date from join/quit and world load/unload events; before that every read goes to Bukkit.
+ */
+public class OnlineIndex implements Listener {
+
+    private static final NameIndex<Player> players = new NameIndex<>(
+            () -> Bukkit.getServer() == null ? List.<Player>of() : Bukkit.getOnlinePlayers(), Player::getName);
+    private static final NameIndex<World> worlds = new NameIndex<>(
+            () -> Bukkit.getServer() == null ? List.<World>of() : Bukkit.getWorlds(), World::getName);
+
+    private static volatile boolean registered = false;
+
+    public static synchronized void register(Plugin plugin) {
+        if (registered) return;
+        Bukkit.getPluginManager().registerEvents(new OnlineIndex(), plugin);
+        players.seed(Bukkit.getOnlinePlayers());
+        worlds.seed(Bukkit.getWorlds());
+        registered = true;
+    }
+
+    public static boolean isRegistered() {
+        return registered;
+    }
+
+    public static NameIndex<Player> players() {
+        return players;
+    }
+
+    public static NameIndex<World> worlds() {
+        return worlds;
+    }
+
+    // Indexed before other plugins react to the join, dropped only after they saw the quit
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        players.put(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        players.remove(event.getPlayer().getName());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onWorldLoad(WorldLoadEvent event) {
+        worlds.put(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        worlds.remove(event.getWorld().getName());
+    }
+}
@@ -0,0 +1,380 @@
+package com.dami.easyCommands.internal;
+
+import com.dami.easyCommands.model.MessageKey;
+import com.dami.easyCommands.model.SenderResolver;
+import com.dami.easyCommands.model.TypeConverter;
+import com.dami.easyCommands.model.ValidationException;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Precompiled binding plan of a command method. Every parameter is turned into one step when the
+ * command is registered, so binding an invocation is a single loop over the steps with converters
+ * and sender resolvers already looked up and no annotation reads.
+ * <p>
+ * Flags are matched in one pass over the lexed tokens (see {@link CommandLexer}): {@code -s},
+ * {@code --silent}, {@code -abc} for boolean switches and {@code -r=5} for valued flags.
+ * <p>
+ * Converters and sender resolvers may be registered after a command was; the plan compares the
+ * registry version of {@link ParameterResolver} and re-resolves them when it changed.
+ */
+public final class ParameterPlan {
+
+    private static final byte BIND_SENDER = 0;
+    private static final byte BIND_PLAYER_OR_POSITIONAL = 1;
+    private static final byte BIND_SESSION = 2;
+    private static final byte BIND_CUSTOM_SENDER = 3;
+    private static final byte BIND_TAIL = 4;
+    private static final byte BIND_POSITIONAL = 5;
+    private static final byte BIND_FLAG = 6;
+
+    private static final UUID CONSOLE_SESSION = UUID.nameUUIDFromBytes("CONSOLE".getBytes());
+
+    private static final class Step {
+        final int index;
+        final byte kind;
+        final Class<?> type;
+        final String name;
+        final String optionalDefault;
+        final boolean hasMin;
+        final double min;
+        final boolean hasMax;
+        final double max;
+        final String flag;
+        final String flagName;
+        final boolean switchFlag;
+        final LiteralTable<String> choices;
+        int flagSlot;
+        TypeConverter<?> converter;
+        SenderResolver<?> senderResolver;
+
+        Step(int index, byte kind, ParameterSpec param) {
+            this.index = index;
+            this.kind = kind;
+            this.type = param.getType();
+            this.flag = param.getFlag();
+            this.flagName = flag != null ? stripDashes(flag) : null;
+            this.switchFlag = type == boolean.class || type == Boolean.class;
+            this.name = param.getName();
+            this.optionalDefault = param.getOptionalDefault();
+            this.hasMin = param.hasMin();
+            this.min = param.getMin();
+            this.hasMax = param.hasMax();
+            this.max = param.getMax();
+            this.choices = param.getChoices();
+        }
+    }
+
+    private final Step[] steps;
+    private final Step[] flagSteps;
+    private final String[] flags;
+    private volatile int registryVersion = -1;
+
+    private ParameterPlan(Step[] steps, Step[] flagSteps) {
+        this.steps = steps;
+        this.flagSteps = flagSteps;
+        this.flags = new String[flagSteps.length];
+        for (int i = 0; i < flagSteps.length; i++) {
+            flags[i] = flagSteps[i].flag;
+        }
+    }
+
+    public static ParameterPlan compile(ParameterSpec[] parameters) {
+        int flagCount = 0;
+        for (ParameterSpec param : parameters) {
+            if (param.isFlag()) flagCount++;
+        }
+
+        Step[] steps = new Step[parameters.length];
+        Step[] flagSteps = new Step[flagCount];
+        int f = 0;
+        for (int i = 0; i < parameters.length; i++) {
+            ParameterSpec param = parameters[i];
+            Class<?> paramType = param.getType();
+            byte kind;
+            if (param.isFlag()) {
+                kind = BIND_FLAG;
+            } else if (param.isSession()) {
+                kind = BIND_SESSION;
+            } else if (param.isSender()) {
+                kind = BIND_CUSTOM_SENDER;
+            } else if (CommandSender.class.isAssignableFrom(paramType) && !Player.class.isAssignableFrom(paramType)) {
+                kind = BIND_SENDER;
+            } else if (Player.class.isAssignableFrom(paramType) && i == 0) {
+                kind = BIND_PLAYER_OR_POSITIONAL;
+            } else if (paramType.isArray() && paramType.getComponentType() == String.class) {
+                kind = BIND_TAIL;
+            } else {
+                kind = BIND_POSITIONAL;
+            }
+            steps[i] = new Step(i, kind, param);
+            if (kind == BIND_FLAG) {
+                steps[i].flagSlot = f;
+                flagSteps[f++] = steps[i];
+            }
+        }
+        return new ParameterPlan(steps, flagSteps);
+    }
+
+    private static String stripDashes(String flag) {
+        int start = 0;
+        while (start < flag.length() && flag.charAt(start) == '-') {
+            start++;
+        }
+        return flag.substring(start);
+    }
+
+    /**
+     * The declared {@code @Flag} values, in parameter order. Used by tab completion.
+     */
+    public String[] getFlags() {
+        return flags;
+    }
+
+    private void resolveRegistries() {
+        int version = ParameterResolver.registryVersion();
+        if (registryVersion == version) {
+            return;
+        }
+        for (Step step : steps) {
+            if (step.kind == BIND_CUSTOM_SENDER) {
+                step.senderResolver = ParameterResolver.getSenderResolver(step.type);
+            } else if (step.kind == BIND_POSITIONAL || step.kind == BIND_PLAYER_OR_POSITIONAL || step.kind == BIND_FLAG) {
+                step.converter = ParameterResolver.getConverter(step.type);
+            }
+        }
+        registryVersion = version;
+    }
+
+    /**
+     * Binds the arguments of one invocation. Positional arguments are the captured wildcards
+     * followed by the tokens after the cursor, read in place.
+     */
+    public Object[] bind(CommandSender sender, InvocationContext context) throws ValidationException {
+        resolveRegistries();
+
+        Object[] resolvedArgs = new Object[steps.length];
+        int positionalCount = context.positionalCount();
+
+        // Only methods that declare flags pay for tracking which tokens were consumed as flags
+        boolean[] consumed = null;
+        boolean[] flagFound = null;
+        String[] flagValues = null;
+        if (flagSteps.length > 0) {
+            flagFound = new boolean[flagSteps.length];
+            flagValues = new String[flagSteps.length];
+            consumed = matchFlags(context, positionalCount, flagFound, flagValues);
+        }
+
+        int argIndex = nextPositional(consumed, 0, positionalCount);
+
+        for (Step step : steps) {
+            switch (step.kind) {
+                case BIND_SESSION:
+                    resolvedArgs[step.index] = SessionManager.getSession(sender instanceof Player ? ((Player) sender).getUniqueId() : CONSOLE_SESSION);
+                    break;
+                case BIND_CUSTOM_SENDER:
+                    if (step.senderResolver == null) {
+                        throw new IllegalArgumentException("No SenderResolver registered for type: " + step.type.getName());
+                    }
+                    resolvedArgs[step.index] = step.senderResolver.resolve(sender);
+                    break;
+                case BIND_SENDER:
+                    resolvedArgs[step.index] = sender;
+                    break;
+                case BIND_FLAG: {
+                    int slot = step.flagSlot;
+                    if (step.switchFlag) {
+                        resolvedArgs[step.index] = flagFound[slot]
+                                ? (flagValues[slot] == null ? Boolean.TRUE : convert(step, flagValues[slot]))
+                                : Boolean.FALSE;
+                    } else if (flagFound[slot]) {
+                        if (flagValues[slot] == null) {
+                            throw invalidArgument(step, step.flag);
+                        }
+                        resolvedArgs[step.index] = convert(step, flagValues[slot]);
+                    } else if (step.optionalDefault != null) {
+                        resolvedArgs[step.index] = convert(step, step.optionalDefault);
+                    } else if (step.type.isPrimitive()) {
+                        // A primitive cannot be left null, so without a default the flag is required
+                        throw missingFlag(step);
+                    }
+                    break;
+                }
+                case BIND_TAIL: {
+                    int remaining = 0;
+                    for (int j = argIndex; j < positionalCount; j = nextPositional(consumed, j + 1, positionalCount)) {
+                        remaining++;
+                    }
+                    String[] tail = new String[remaining];
+                    int k = 0;
+                    for (int j = argIndex; j < positionalCount; j = nextPositional(consumed, j + 1, positionalCount)) {
+                        tail[k++] = context.positional(j);
+                    }
+                    resolvedArgs[step.index] = tail;
+                    argIndex = positionalCount;
+                    break;
+                }
+                case BIND_PLAYER_OR_POSITIONAL:
+                    if (sender instanceof Player) {
+                        resolvedArgs[step.index] = sender;
+                        break;
+                    }
+                    // Not a player: read the player from the arguments
+                default: {
+                    String value = null;
+                    if (argIndex < positionalCount) {
+                        value = context.positional(argIndex);
+                        argIndex = nextPositional(consumed, argIndex + 1, positionalCount);
+                    } else {
+                        value = step.optionalDefault;
+                    }
+                    if (value != null) {
+                        resolvedArgs[step.index] = convert(step, value);
+                    }
+                    break;
+                }
+            }
+        }
+
+        return resolvedArgs;
+    }
+
+    public int flagCount() {
+        return flagSteps.length;
+    }
+
+    /**
+     * Runs the flag pass over the first {@code count} positionals in one go and returns which of
+     * them were consumed as flags. {@code flagFound}/{@code flagValues} are indexed like {@link #getFlags()}.
+     */
+    public boolean[] matchFlags(InvocationContext context, int count, boolean[] flagFound, String[] flagValues) {
+        boolean[] consumed = new boolean[context.positionalCount()];
+        CommandLexer lexer = context.getLexer();
+        for (int j = 0; j < count; j++) {
+            int token = context.positionalToken(j);
+            if (lexer.kind(token) != CommandLexer.QUOTED) {
+                consumed[j] = matchFlag(lexer.token(token), lexer.kind(token), flagFound, flagValues);
+            }
+        }
+        return consumed;
+    }
+
+    /**
+     * Matches one token against the flags not seen yet: the exact declared value, {@code -name} /
+     * {@code --name} with an optional {@code =value}, or a group of single letter switches
+     * ({@code -abc}). Each flag takes its first occurrence; repeats stay positional.
+     */
+    private boolean matchFlag(String token, byte kind, boolean[] flagFound, String[] flagValues) {
+        boolean flagLike = kind == CommandLexer.SHORT_FLAG || kind == CommandLexer.LONG_FLAG;
+        int nameStart = flagLike ? CommandLexer.flagNameStart(kind) : 0;
+        int nameEnd = flagLike ? CommandLexer.flagNameEnd(token) : 0;
+
+        for (Step step : flagSteps) {
+            if (flagFound[step.flagSlot]) continue;
+            if (token.equals(step.flag)) {
+                flagFound[step.flagSlot] = true;
+                return true;
+            }
+            if (flagLike && nameEnd - nameStart == step.flagName.length()
+                    && token.regionMatches(nameStart, step.flagName, 0, step.flagName.length())) {
+                flagFound[step.flagSlot] = true;
+                flagValues[step.flagSlot] = nameEnd < token.length() ? token.substring(nameEnd + 1) : null;
+                return true;
+            }
+        }
+
+        if (kind != CommandLexer.SHORT_FLAG || nameEnd != token.length() || token.length() <= 2) {
+            return false;
+        }
+        for (int c = 1; c < token.length(); c++) {
+            if (findSwitch(token.charAt(c), flagFound) == null) {
+                return false;
+            }
+        }
+        for (int c = 1; c < token.length(); c++) {
+            Step step = findSwitch(token.charAt(c), flagFound);
+            if (step != null) {
+                flagFound[step.flagSlot] = true;
+            }
+        }
+        return true;
+    }
+
+    private Step findSwitch(char letter, boolean[] flagFound) {
+        for (Step step : flagSteps) {
+            if (step.switchFlag && !flagFound[step.flagSlot] && step.flagName.length() == 1 && step.flagName.charAt(0) == letter) {
+                return step;
+            }
+        }
+        return null;
+    }
+
+    private static Object convert(Step step, String value) throws ValidationException {
+        if (step.choices != null) {
+            String choice = step.choices.get(value);
+            if (choice == null) {
+                throw invalidArgument(step, value);
+            }
+            value = choice;
+        }
+        Object result;
+        try {
+            if (step.converter == null) {
+                throw new IllegalArgumentException("No converter registered for type: " + step.type.getName());
+            }
+            result = step.converter.convert(value);
+        } catch (ValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw invalidArgument(step, value);
+        }
+        if (result == null && !step.type.isPrimitive() && !value.isEmpty()) {
+            throw invalidArgument(step, value);
+        }
+        if (result instanceof Number) {
+            double doubleValue = ((Number) result).doubleValue();
+            if (step.hasMin && doubleValue < step.min) {
+                Map<String, String> placeholders = new HashMap<>();
+                placeholders.put("param", step.name);
+                placeholders.put("min", String.valueOf(step.min));
+                throw new ValidationException(MessageKey.MIN_VALUE, placeholders);
+            }
+            if (step.hasMax && doubleValue > step.max) {
+                Map<String, String> placeholders = new HashMap<>();
+                placeholders.put("param", step.name);
+                placeholders.put("max", String.valueOf(step.max));
+                throw new ValidationException(MessageKey.MAX_VALUE, placeholders);
+            }
+        }
+        return result;
+    }
+
+    private static ValidationException invalidArgument(Step step, String value) {
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("arg", value);
+        placeholders.put("param", step.name);
+        return new ValidationException(MessageKey.INVALID_ARGUMENT, placeholders);
+    }
+
+    private static ValidationException missingFlag(Step step) {
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("flag", step.flag);
+        placeholders.put("param", step.name);
+        return new ValidationException(MessageKey.INVALID_USAGE, placeholders);
+    }
+
+    private static int nextPositional(boolean[] consumed, int from, int positionalCount) {
+        if (consumed == null) {
+            return from;
+        }
+        while (from < positionalCount && consumed[from]) {
+            from++;
+        }
+        return from;
+    }
+}
@@ -0,0 +1,163 @@
+package com.dami.easyCommands.internal;
+
+import com.dami.easyCommands.annotations.AutoComplete;
+import com.dami.easyCommands.annotations.Choices;
+import com.dami.easyCommands.annotations.Flag;
+import com.dami.easyCommands.annotations.Max;
+import com.dami.easyCommands.annotations.Min;
+import com.dami.easyCommands.annotations.Optional;
+import com.dami.easyCommands.annotations.Sender;
+import com.dami.easyCommands.annotations.Session;
+import com.dami.easyCommands.annotations.Tab;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+
+/**
+ * Annotation metadata of a single command method parameter, read once at registration.
+ * Built either by reflection ({@link #of(Method)}) or by generated dispatcher code.
+ */
+public final class ParameterSpec {
+
+    private final Class<?> type;
+    private final String name;
+    private final String flag;
+    private final boolean session;
+    private final boolean sender;
+    private final String optional;
+    private final double min;
+    private final double max;
+    private final String tab;
+    private final String autoComplete;
+    private final LiteralTable<String> choices;
+
+    /**
+     * @param flag         the {@code @Flag} value, or null
+     * @param optional     the {@code @Optional} default, or null when not optional
+     * @param min          the {@code @Min} value, or NaN
+     * @param max          the {@code @Max} value, or NaN
+     * @param tab          the {@code @Tab} provider, or null
+     * @param autoComplete the {@code @AutoComplete} key, or null
+     */
+    public ParameterSpec(Class<?> type, String name, String flag, boolean session, boolean sender, String optional,
+                         double min, double max, String tab, String autoComplete) {
+        this(type, name, flag, session, sender, optional, min, max, tab, autoComplete, null);
+    }
+
+    /**
+     * @param choices the {@code @Choices} literals, or null
+     */
+    public ParameterSpec(Class<?> type, String name, String flag, boolean session, boolean sender, String optional,
+                         double min, double max, String tab, String autoComplete, String[] choices) {
+        this.type = type;
+        this.name = name;
+        this.flag = flag;
+        this.session = session;
+        this.sender = sender;
+        this.optional = optional;
+        this.min = min;
+        this.max = max;
+        this.tab = tab;
+        this.autoComplete = autoComplete;
+        this.choices = choices != null ? LiteralTable.ofChoices(choices) : null;
+    }
+
+    public static ParameterSpec of(Parameter param) {
+        Flag flag = param.getAnnotation(Flag.class);
+        Optional optional = param.getAnnotation(Optional.class);
+        Min min = param.getAnnotation(Min.class);
+        Max max = param.getAnnotation(Max.class);
+        Tab tab = param.getAnnotation(Tab.class);
+        AutoComplete autoComplete = param.getAnnotation(AutoComplete.class);
+        Choices choices = param.getAnnotation(Choices.class);
+        return new ParameterSpec(
+                param.getType(),
+                param.getName(),
+                flag != null ? flag.value() : null,
+                param.isAnnotationPresent(Session.class),
+                param.isAnnotationPresent(Sender.class),
+                optional != null ? optional.value() : null,
+                min != null ? min.value() : Double.NaN,
+                max != null ? max.value() : Double.NaN,
+                tab != null ? tab.value() : null,
+                autoComplete != null ? autoComplete.value() : null,
+                choices != null ? choices.value() : null
+        );
+    }
+
+    public static ParameterSpec[] of(Method method) {
+        Parameter[] parameters = method.getParameters();
+        ParameterSpec[] specs = new ParameterSpec[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            specs[i] = of(parameters[i]);
+        }
+        return specs;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isFlag() {
+        return flag != null;
+    }
+
+    public String getFlag() {
+        return flag;
+    }
+
+    public boolean isSession() {
+        return session;
+    }
+
+    public boolean isSender() {
+        return sender;
+    }
+
+    public boolean isOptional() {
+        return optional != null;
+    }
+
+    public String getOptionalDefault() {
+        return optional;
+    }
+
+    public boolean hasMin() {
+        return !Double.isNaN(min);
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public boolean hasMax() {
+        return !Double.isNaN(max);
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public String getTab() {
+        return tab;
+    }
+
+    public String getAutoComplete() {
+        return autoComplete;
+    }
+
+    public boolean hasChoices() {
+        return choices != null;
+    }
+
+    /**
+     * The {@code @Choices} literals as a lookup table, or null.
+     */
+    public LiteralTable<String> getChoices() {
+        return choices;
+    }
+}
@@ -0,0 +1,83 @@
+package com.dami.easyCommands.internal;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out {@link PermissionSnapshot}s for the paths that only decide what a sender gets to see:
+ * tab completion, help pages, "did you mean" suggestions and the auto GUI. Executing a command
+ * always asks the sender directly.
+ * <p>
+ * Once {@link #register(Plugin)} has been called, a player's snapshot is kept until they quit,
+ * change world or have their permissions recalculated (Bukkit resends the command list then),
+ * and at most {@link #MAX_AGE_MILLIS}. Without the listener, and for non-player senders, a
+ * snapshot only lives for a single call.
+ */
+public class PermissionCache implements Listener {
+
+    public static final long MAX_AGE_MILLIS = 30_000L;
+
+    private static final Map<UUID, PermissionSnapshot> snapshots = new ConcurrentHashMap<>();
+    private static volatile boolean registered = false;
+
+    public static synchronized void register(Plugin plugin) {
+        if (registered) return;
+        Bukkit.getPluginManager().registerEvents(new PermissionCache(), plugin);
+        registered = true;
+    }
+
+    public static boolean isRegistered() {
+        return registered;
+    }
+
+    public static PermissionSnapshot snapshot(CommandSender sender) {
+        if (!registered || !(sender instanceof Player)) {
+            return new PermissionSnapshot(sender);
+        }
+        UUID playerId = ((Player) sender).getUniqueId();
+        PermissionSnapshot snapshot = snapshots.get(playerId);
+        if (snapshot == null || snapshot.getSender() != sender
+                || System.currentTimeMillis() - snapshot.getCreatedAt() > MAX_AGE_MILLIS) {
+            snapshot = new PermissionSnapshot(sender);
+            snapshots.put(playerId, snapshot);
+        }
+        return snapshot;
+    }
+
+    public static void invalidate(UUID playerId) {
+        snapshots.remove(playerId);
+        TabCache.invalidate(playerId);
+    }
+
+    public static void invalidateAll() {
+        snapshots.clear();
+        TabCache.invalidateAll();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onCommandSend(PlayerCommandSendEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,116 @@
+package com.dami.easyCommands.internal;
+
+import org.bukkit.permissions.Permissible;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * The permissions one sender has been asked about, kept as a bitset indexed by permission id.
+ * Every permission string gets a small integer id when the command tree is built
+ * ({@link #idOf(String)}); the first check of an id asks the sender, later checks are a bit test.
+ * <p>
+ * Each id takes two bits of a word: "known" and "granted", set together in one atomic update.
+ * Snapshots are handed out by {@link PermissionCache}.
+ */
+public final class PermissionSnapshot {
+
+    /**
+     * Id of the empty permission, which everyone has.
+     */
+    public static final int NONE = -1;
+
+    private static final LongBinaryOperator OR = (a, b) -> a | b;
+
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[64];
+    private static int nameCount;
+
+    private final Permissible sender;
+    private final long createdAt;
+    private volatile AtomicLongArray bits;
+
+    PermissionSnapshot(Permissible sender) {
+        this.sender = sender;
+        this.createdAt = System.currentTimeMillis();
+        this.bits = new AtomicLongArray(Math.max(1, (nameCount + 31) >>> 5));
+    }
+
+    /**
+     * The id of a permission string, or {@link #NONE} for an empty permission.
+     */
+    public static int idOf(String permission) {
+        if (permission == null || permission.isEmpty()) {
+            return NONE;
+        }
+        Integer id = ids.get(permission);
+        return id != null ? id : intern(permission);
+    }
+
+    public static String nameOf(int id) {
+        return names[id];
+    }
+
+    private static synchronized int intern(String permission) {
+        Integer existing = ids.get(permission);
+        if (existing != null) {
+            return existing;
+        }
+        if (nameCount == names.length) {
+            names = Arrays.copyOf(names, nameCount * 2);
+        }
+        int id = nameCount++;
+        names[id] = permission;
+        ids.put(permission, id);
+        return id;
+    }
+
+    public boolean has(int id) {
+        if (id == NONE) {
+            return true;
+        }
+        AtomicLongArray bits = this.bits;
+        int word = id >>> 5;
+        long known = 1L << ((id & 31) << 1);
+        if (word < bits.length()) {
+            long value = bits.get(word);
+            if ((value & known) != 0) {
+                return (value & (known << 1)) != 0;
+            }
+        } else {
+            bits = grow(word);
+        }
+
+        boolean granted = sender.hasPermission(names[id]);
+        bits.accumulateAndGet(word, granted ? known | (known << 1) : known, OR);
+        return granted;
+    }
+
+    public boolean has(String permission) {
+        return has(idOf(permission));
+    }
+
+    Permissible getSender() {
+        return sender;
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    private synchronized AtomicLongArray grow(int word) {
+        AtomicLongArray current = this.bits;
+        if (word < current.length()) {
+            return current;
+        }
+        AtomicLongArray grown = new AtomicLongArray(Math.max(word + 1, current.length() * 2));
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        this.bits = grown;
+        return grown;
+    }
+}
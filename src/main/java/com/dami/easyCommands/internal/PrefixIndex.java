@@ -0,0 +1,123 @@
+package com.dami.easyCommands.internal;
+
+import com.dami.easyCommands.model.CompletionProvider;
+import org.bukkit.command.CommandSender;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * A completion provider over a fixed set of values, lower-cased and sorted once. Completing a
+ * prefix is two binary searches and returns a read-only view of the matching range, so a keystroke
+ * allocates nothing per candidate.
+ * <p>
+ * The values are read from the source on first use, so registries that need a running server
+ * (materials, sounds, ...) are not touched while classes load.
+ */
+public final class PrefixIndex implements CompletionProvider {
+
+    private final Supplier<? extends Collection<String>> source;
+    private volatile Table table;
+    private volatile RankedMatcher matcher;
+
+    private PrefixIndex(Supplier<? extends Collection<String>> source) {
+        this.source = source;
+    }
+
+    public static PrefixIndex of(Collection<String> values) {
+        List<String> copy = new ArrayList<>(values);
+        return new PrefixIndex(() -> copy);
+    }
+
+    public static PrefixIndex lazy(Supplier<? extends Collection<String>> source) {
+        return new PrefixIndex(source);
+    }
+
+    /**
+     * The values starting with {@code prefix}, ignoring case, in sorted order.
+     */
+    public List<String> complete(String prefix) {
+        Table table = table();
+        if (prefix.isEmpty()) {
+            return table.all;
+        }
+        String lowerPrefix = prefix.toLowerCase();
+        String[] lowered = table.lowered;
+
+        int low = 0;
+        int high = lowered.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lowered[mid].compareTo(lowerPrefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int from = low;
+
+        high = lowered.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lowered[mid].startsWith(lowerPrefix)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return table.all.subList(from, low);
+    }
+
+    /**
+     * The best {@code limit} values for the token by {@link RankedMatcher}, over per-value data
+     * computed on first use.
+     */
+    public List<String> rank(String token, int limit) {
+        RankedMatcher current = matcher;
+        if (current == null) {
+            current = RankedMatcher.of(table().all);
+            matcher = current;
+        }
+        return current.top(token, limit);
+    }
+
+    public int size() {
+        return table().lowered.length;
+    }
+
+    @Override
+    public List<String> getSuggestions(CommandSender sender, String[] args) {
+        return table().all;
+    }
+
+    private Table table() {
+        Table current = table;
+        if (current == null) {
+            current = new Table(source.get());
+            table = current;
+        }
+        return current;
+    }
+
+    private static final class Table {
+        private final String[] lowered;
+        private final List<String> all;
+
+        Table(Collection<String> values) {
+            String[][] pairs = new String[values.size()][];
+            int i = 0;
+            for (String value : values) {
+                pairs[i++] = new String[]{value, value.toLowerCase()};
+            }
+            Arrays.sort(pairs, Comparator.comparing(pair -> pair[1]));
+
+            String[] sorted = new String[pairs.length];
+            this.lowered = new String[pairs.length];
+            for (i = 0; i < pairs.length; i++) {
+                sorted[i] = pairs[i][0];
+                lowered[i] = pairs[i][1];
+            }
+            this.all = Collections.unmodifiableList(Arrays.asList(sorted));
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.dami.easyCommands.internal;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local name → UUID cache so {@code OfflinePlayer} arguments never wait for a profile lookup on
+ * the main thread. It is seeded from the server's usercache.json, learns every joining player, and
+ * is kept in a small binary file in the plugin's data folder.
+ * <p>
+ * A name that is not known yet resolves to null; the {@link Resolver} (by default a Mojang
+ * profile lookup on an async task) is then asked in the background and a second try finds it.
+ * While that lookup runs, {@link #isResolving(String)} is true, so the {@code OfflinePlayer}
+ * converter can tell the sender to retry instead of calling the name invalid.
+ */
+public class ProfileCache implements Listener {
+
+    public static final String FILE_NAME = "profiles.bin";
+
+    private static final int MAGIC = 0x45435043;
+    private static final int VERSION = 1;
+    private static final long SAVE_INTERVAL_TICKS = 20L * 60 * 5;
+
+    private static final Map<String, UUID> byName = new ConcurrentHashMap<>();
+    private static final Map<UUID, String> names = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<UUID>> pending = new ConcurrentHashMap<>();
+
+    private static volatile Resolver resolver = ProfileCache::lookupProfile;
+    private static volatile boolean dirty = false;
+    private static volatile boolean registered = false;
+    private static Plugin plugin;
+    private static File file;
+
+    /**
+     * Looks a name up somewhere slow, off the main thread. Completes with null for unknown names.
+     */
+    @FunctionalInterface
+    public interface Resolver {
+        CompletableFuture<UUID> resolve(String name);
+    }
+
+    public static synchronized void register(Plugin plugin) {
+        if (registered) return;
+        ProfileCache.plugin = plugin;
+        ProfileCache.file = new File(plugin.getDataFolder(), FILE_NAME);
+        load(file);
+        seedFromUserCache(new File("usercache.json"));
+        Bukkit.getPluginManager().registerEvents(new ProfileCache(), plugin);
+        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, ProfileCache::saveIfDirty, SAVE_INTERVAL_TICKS, SAVE_INTERVAL_TICKS);
+        registered = true;
+    }
+
+    public static boolean isRegistered() {
+        return registered;
+    }
+
+    /**
+     * Replaces the resolver used for names that are not cached, e.g. with a local stub in tests.
+     */
+    public static void setResolver(Resolver resolver) {
+        ProfileCache.resolver = resolver;
+    }
+
+    public static synchronized void put(String name, UUID id) {
+        String previous = names.put(id, name);
+        if (previous != null && !previous.equalsIgnoreCase(name)) {
+            byName.remove(previous.toLowerCase(), id);
+        }
+        UUID displaced = byName.put(name.toLowerCase(), id);
+        if (displaced != null && !displaced.equals(id)) {
+            // The name moved to another account; forget it for the old one
+            String displacedName = names.get(displaced);
+            if (displacedName != null && displacedName.equalsIgnoreCase(name)) {
+                names.remove(displaced);
+            }
+        }
+        if (!id.equals(displaced) || !name.equals(previous)) {
+            dirty = true;
+        }
+    }
+
+    public static UUID getUniqueId(String name) {
+        return byName.get(name.toLowerCase());
+    }
+
+    /**
+     * The name last seen for a UUID, with its original case.
+     */
+    public static String getName(UUID id) {
+        return names.get(id);
+    }
+
+    public static Collection<String> getNames() {
+        return Collections.unmodifiableCollection(names.values());
+    }
+
+    public static int size() {
+        return byName.size();
+    }
+
+    /**
+     * The cached UUID, or the resolver's answer (cached once it arrives). Lookups of the same name
+     * that are still running are shared.
+     */
+    public static CompletableFuture<UUID> resolve(String name) {
+        UUID cached = getUniqueId(name);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        String key = name.toLowerCase();
+        CompletableFuture<UUID> running = pending.get(key);
+        if (running != null) {
+            return running;
+        }
+        CompletableFuture<UUID> lookup = new CompletableFuture<>();
+        running = pending.putIfAbsent(key, lookup);
+        if (running != null) {
+            return running;
+        }
+        CompletableFuture<UUID> resolved;
+        try {
+            resolved = resolver.resolve(name);
+        } catch (Throwable e) {
+            resolved = CompletableFuture.failedFuture(e);
+        }
+        resolved.whenComplete((id, error) -> {
+            pending.remove(key, lookup);
+            if (error != null) {
+                System.err.println("Error while resolving the profile of " + name);
+                error.printStackTrace();
+                lookup.complete(null);
+                return;
+            }
+            if (id != null) {
+                put(name, id);
+            }
+            lookup.complete(id);
+        });
+        return lookup;
+    }
+
+    /**
+     * Whether a background lookup of the name is still running.
+     */
+    public static boolean isResolving(String name) {
+        return pending.containsKey(name.toLowerCase());
+    }
+
+    /**
+     * The offline player for a name without blocking: from the cache, an online player or the
+     * server's own profile cache. Otherwise null, with a background lookup started for next time
+     * (a resolver that answers right away is used directly).
+     */
+    public static OfflinePlayer getOfflinePlayer(String name) {
+        UUID id = getUniqueId(name);
+        if (id != null) {
+            return Bukkit.getOfflinePlayer(id);
+        }
+        Player online = Bukkit.getPlayerExact(name);
+        if (online != null) {
+            put(online.getName(), online.getUniqueId());
+            return online;
+        }
+        OfflinePlayer known = Bukkit.getOfflinePlayerIfCached(name);
+        if (known != null && known.getUniqueId() != null) {
+            put(known.getName() != null ? known.getName() : name, known.getUniqueId());
+            return known;
+        }
+        UUID resolved = resolve(name).getNow(null);
+        return resolved != null ? Bukkit.getOfflinePlayer(resolved) : null;
+    }
+
+    public static synchronized void load(File file) {
+        if (!file.isFile()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                System.err.println("Ignoring " + file.getName() + ": not a profile cache of this version");
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                UUID id = new UUID(in.readLong(), in.readLong());
+                names.put(id, name);
+                byName.put(name.toLowerCase(), id);
+            }
+        } catch (IOException e) {
+            System.err.println("Error while loading the profile cache from " + file.getPath());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes every entry as a name and two longs, replacing the file in one move.
+     */
+    public static synchronized void save(File file) {
+        File parent = file.getAbsoluteFile().getParentFile();
+        File temp = new File(parent, file.getName() + ".tmp");
+        try {
+            if (!parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("Could not create " + parent.getPath());
+            }
+            Map<UUID, String> entries = new HashMap<>(names);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                for (Map.Entry<UUID, String> entry : entries.entrySet()) {
+                    out.writeUTF(entry.getValue());
+                    out.writeLong(entry.getKey().getMostSignificantBits());
+                    out.writeLong(entry.getKey().getLeastSignificantBits());
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("Error while saving the profile cache to " + file.getPath());
+            e.printStackTrace();
+        }
+    }
+
+    public static void saveIfDirty() {
+        if (dirty && file != null) {
+            save(file);
+        }
+    }
+
+    /**
+     * Adds the entries of a vanilla usercache.json that are not cached yet.
+     */
+    public static void seedFromUserCache(File userCache) {
+        if (!userCache.isFile()) {
+            return;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(userCache), StandardCharsets.UTF_8)) {
+            JsonElement root = JsonParser.parseReader(reader);
+            if (!root.isJsonArray()) {
+                return;
+            }
+            for (JsonElement element : root.getAsJsonArray()) {
+                if (!element.isJsonObject()) continue;
+                JsonObject entry = element.getAsJsonObject();
+                if (!entry.has("name") || !entry.has("uuid")) continue;
+                String name = entry.get("name").getAsString();
+                if (getUniqueId(name) == null) {
+                    put(name, UUID.fromString(entry.get("uuid").getAsString()));
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error while reading " + userCache.getPath());
+            e.printStackTrace();
+        }
+    }
+
+    public static synchronized void clear() {
+        byName.clear();
+        names.clear();
+        pending.clear();
+        dirty = false;
+    }
+
+    private static CompletableFuture<UUID> lookupProfile(String name) {
+        CompletableFuture<UUID> future = new CompletableFuture<>();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                PlayerProfile profile = Bukkit.createProfile(name);
+                future.complete(profile.complete(false) ? profile.getId() : null);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        put(event.getPlayer().getName(), event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler
+    public void onPluginDisable(PluginDisableEvent event) {
+        if (event.getPlugin() == plugin) {
+            saveIfDirty();
+        }
+    }
+}
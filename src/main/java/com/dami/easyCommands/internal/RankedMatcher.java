@@ -0,0 +1,311 @@
+package com.dami.easyCommands.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Ranks completion candidates against the typed token instead of only keeping prefix matches.
+ * A candidate matches as a prefix, as a word prefix ({@code sword} in {@code diamond_sword}), as
+ * pieces that each start a word ({@code dsw} in {@code diamond_sword}), as a substring, or as any
+ * subsequence, in that order of rank; within a tier shorter and tighter matches come first and
+ * ties keep the candidates' order.
+ * <p>
+ * Every candidate is lower-cased, its word starts marked and its characters folded into a 64-bit
+ * mask once, so most non-matches are rejected by one mask test. Only the best {@code limit}
+ * matches are kept, in a bounded heap.
+ */
+public final class RankedMatcher {
+
+    static final int NO_MATCH = -1;
+
+    private static final int PREFIX = 4_000_000;
+    private static final int WORD_PREFIX = 3_000_000;
+    private static final int WORD_PIECES = 2_500_000;
+    private static final int SUBSTRING = 2_000_000;
+    private static final int SUBSEQUENCE = 1_000_000;
+
+    private final List<String> values;
+    private final char[][] lowered;
+    private final long[][] boundaries;
+    private final long[] masks;
+
+    private RankedMatcher(List<String> values) {
+        this.values = values;
+        this.lowered = new char[values.size()][];
+        this.boundaries = new long[values.size()][];
+        this.masks = new long[values.size()];
+        for (int i = 0; i < lowered.length; i++) {
+            String value = values.get(i);
+            lowered[i] = lower(value);
+            boundaries[i] = boundaries(value);
+            masks[i] = mask(lowered[i]);
+        }
+    }
+
+    public static RankedMatcher of(Collection<String> values) {
+        return new RankedMatcher(new ArrayList<>(values));
+    }
+
+    /**
+     * Ranks a list that is only used once, without keeping the per-candidate data.
+     */
+    public static List<String> rank(List<String> values, String query, int limit) {
+        if (query.isEmpty()) {
+            return values.size() <= limit ? values : new ArrayList<>(values.subList(0, limit));
+        }
+        char[] q = lower(query);
+        long queryMask = mask(q);
+        TopK top = new TopK(limit);
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i);
+            char[] candidate = lower(value);
+            if ((queryMask & ~mask(candidate)) != 0) continue;
+            int score = score(candidate, boundaries(value), q);
+            if (score != NO_MATCH) {
+                top.offer(i, score);
+            }
+        }
+        return top.collect(values);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * The best {@code limit} candidates for the query, best first.
+     */
+    public List<String> top(String query, int limit) {
+        if (query.isEmpty()) {
+            return values.size() <= limit ? values : values.subList(0, limit);
+        }
+        char[] q = lower(query);
+        long queryMask = mask(q);
+        TopK top = new TopK(limit);
+        for (int i = 0; i < lowered.length; i++) {
+            if ((queryMask & ~masks[i]) != 0) continue;
+            int score = score(lowered[i], boundaries[i], q);
+            if (score != NO_MATCH) {
+                top.offer(i, score);
+            }
+        }
+        return top.collect(values);
+    }
+
+    /**
+     * The score of a lower-cased candidate, higher is better, or {@link #NO_MATCH}.
+     */
+    static int score(char[] candidate, long[] boundaries, char[] query) {
+        if (query.length > candidate.length) {
+            return NO_MATCH;
+        }
+        int extra = candidate.length - query.length;
+
+        int at = indexOf(candidate, query, 0);
+        if (at == 0) {
+            return PREFIX - extra;
+        }
+        if (at > 0) {
+            int first = at;
+            while (at >= 0 && !isBoundary(boundaries, at)) {
+                at = indexOf(candidate, query, at + 1);
+            }
+            if (at > 0) {
+                return WORD_PREFIX - at * 64 - extra;
+            }
+            // Word pieces can still beat a substring in the middle of a word
+            return Math.max(SUBSTRING - first * 64 - extra, subsequence(candidate, boundaries, query, true));
+        }
+
+        // Prefer word starts, but a plain leftmost walk finds every subsequence the first one misses
+        int best = subsequence(candidate, boundaries, query, true);
+        return Math.max(best, subsequence(candidate, boundaries, query, false));
+    }
+
+    private static int subsequence(char[] candidate, long[] boundaries, char[] query, boolean wordStarts) {
+        int score = SUBSEQUENCE;
+        boolean pieces = true;
+        int last = -1;
+        int pos = 0;
+        for (char c : query) {
+            int found = -1;
+            if (wordStarts) {
+                for (int i = pos; i < candidate.length; i++) {
+                    if (candidate[i] == c && isBoundary(boundaries, i)) {
+                        found = i;
+                        break;
+                    }
+                }
+            }
+            if (found < 0) {
+                for (int i = pos; i < candidate.length; i++) {
+                    if (candidate[i] == c) {
+                        found = i;
+                        break;
+                    }
+                }
+            }
+            if (found < 0) {
+                return NO_MATCH;
+            }
+            if (found == last + 1) {
+                score += 16;
+            } else {
+                score -= found - last - 1;
+                pieces &= isBoundary(boundaries, found);
+            }
+            if (isBoundary(boundaries, found)) {
+                score += 32;
+            }
+            last = found;
+            pos = found + 1;
+        }
+        score -= candidate.length - last - 1;
+        return pieces ? score + (WORD_PIECES - SUBSEQUENCE) : score;
+    }
+
+    private static int indexOf(char[] candidate, char[] query, int from) {
+        outer:
+        for (int i = from; i <= candidate.length - query.length; i++) {
+            for (int j = 0; j < query.length; j++) {
+                if (candidate[i + j] != query[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Word starts: the first character, anything after a separator, an upper-case letter after a
+     * lower-case one, and the first digit after a letter.
+     */
+    static long[] boundaries(String value) {
+        long[] bits = new long[(value.length() + 63) >>> 6];
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isLetterOrDigit(c)) continue;
+            boolean start;
+            if (i == 0) {
+                start = true;
+            } else {
+                char previous = value.charAt(i - 1);
+                start = !Character.isLetterOrDigit(previous)
+                        || (Character.isUpperCase(c) && Character.isLowerCase(previous))
+                        || (Character.isDigit(c) && Character.isLetter(previous));
+            }
+            if (start) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    // Per character, so positions line up with the word starts of the original value
+    private static char[] lower(String value) {
+        char[] chars = new char[value.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(value.charAt(i));
+        }
+        return chars;
+    }
+
+    private static boolean isBoundary(long[] boundaries, int index) {
+        return (boundaries[index >>> 6] & (1L << index)) != 0;
+    }
+
+    // Letters and digits get their own bit, everything else shares the top one
+    private static long mask(char[] chars) {
+        long mask = 0;
+        for (char c : chars) {
+            if (c >= 'a' && c <= 'z') {
+                mask |= 1L << (c - 'a');
+            } else if (c >= '0' && c <= '9') {
+                mask |= 1L << (26 + c - '0');
+            } else {
+                mask |= 1L << 63;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * A min-heap of the best entries so far; the root is the one to drop next.
+     */
+    private static final class TopK {
+        private final int[] indexes;
+        private final int[] scores;
+        private int size;
+
+        TopK(int limit) {
+            this.indexes = new int[Math.max(0, limit)];
+            this.scores = new int[indexes.length];
+        }
+
+        void offer(int index, int score) {
+            if (size < indexes.length) {
+                indexes[size] = index;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (size > 0 && worse(indexes[0], scores[0], index, score)) {
+                indexes[0] = index;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        List<String> collect(List<String> values) {
+            String[] out = new String[size];
+            for (int i = size - 1; i >= 0; i--) {
+                out[i] = values.get(indexes[0]);
+                indexes[0] = indexes[i];
+                scores[0] = scores[i];
+                size = i;
+                siftDown(0);
+            }
+            List<String> result = new ArrayList<>(out.length);
+            for (String value : out) {
+                result.add(value);
+            }
+            return result;
+        }
+
+        // Lower score is worse; on equal scores the later candidate is worse
+        private static boolean worse(int indexA, int scoreA, int indexB, int scoreB) {
+            return scoreA != scoreB ? scoreA < scoreB : indexA > indexB;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(indexes[i], scores[i], indexes[parent], scores[parent])) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) break;
+                int child = left;
+                int right = left + 1;
+                if (right < size && worse(indexes[right], scores[right], indexes[left], scores[left])) {
+                    child = right;
+                }
+                if (!worse(indexes[child], scores[child], indexes[i], scores[i])) break;
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int index = indexes[a];
+            indexes[a] = indexes[b];
+            indexes[b] = index;
+            int score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.dami.easyCommands.internal;
+
+/**
+ * How long registering one command class took: reading its annotations and binding its methods
+ * ({@code scan}, possibly on another thread) and inserting the result into the tree ({@code merge}).
+ */
+public final class RegistrationTiming {
+
+    private final String className;
+    private final long scanNanos;
+    private final long mergeNanos;
+    private final int commands;
+    private final int tabCompletes;
+
+    public RegistrationTiming(String className, long scanNanos, long mergeNanos, int commands, int tabCompletes) {
+        this.className = className;
+        this.scanNanos = scanNanos;
+        this.mergeNanos = mergeNanos;
+        this.commands = commands;
+        this.tabCompletes = tabCompletes;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public long getScanNanos() {
+        return scanNanos;
+    }
+
+    public long getMergeNanos() {
+        return mergeNanos;
+    }
+
+    public long getTotalNanos() {
+        return scanNanos + mergeNanos;
+    }
+
+    public int getCommands() {
+        return commands;
+    }
+
+    public int getTabCompletes() {
+        return tabCompletes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d commands, %d tab completions, scan %.2f ms, merge %.2f ms",
+                className, commands, tabCompletes, scanNanos / 1e6, mergeNanos / 1e6);
+    }
+}
@@ -0,0 +1,66 @@
+package com.dami.easyCommands.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Backing map of the global registries. While plugins enable, registrations go into a concurrent
+ * map; {@link #freeze()} then replaces it with an immutable copy, and later registrations copy the
+ * table and publish the copy in one volatile write. A lookup is always a single volatile read
+ * followed by a plain map lookup, safe from any thread.
+ */
+public final class RegistryTable<K, V> {
+
+    private volatile Map<K, V> table = new ConcurrentHashMap<>();
+    private volatile boolean frozen;
+
+    public V get(Object key) {
+        return table.get(key);
+    }
+
+    public boolean containsKey(Object key) {
+        return table.containsKey(key);
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    public synchronized void put(K key, V value) {
+        if (!frozen) {
+            table.put(key, value);
+            return;
+        }
+        Map<K, V> copy = new HashMap<>(table);
+        copy.put(key, value);
+        table = Map.copyOf(copy);
+    }
+
+    public synchronized void remove(K key) {
+        if (!frozen) {
+            table.remove(key);
+            return;
+        }
+        if (table.containsKey(key)) {
+            Map<K, V> copy = new HashMap<>(table);
+            copy.remove(key);
+            table = Map.copyOf(copy);
+        }
+    }
+
+    /**
+     * Ends the mutable phase: the entries are copied into an immutable table that readers share
+     * from then on. Registering afterwards still works, one copy per registration.
+     */
+    public synchronized void freeze() {
+        if (!frozen) {
+            table = Map.copyOf(table);
+            frozen = true;
+        }
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+}
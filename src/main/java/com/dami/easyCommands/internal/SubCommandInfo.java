@@ -2,7 +2,6 @@ package com.dami.easyCommands.internal;
 
 import com.dami.easyCommands.core.MessageHandler;
 import com.dami.easyCommands.internal.CooldownManager;
-import com.dami.easyCommands.annotations.GuiIcon;
 
 import com.dami.easyCommands.model.MessageKey;
 import com.dami.easyCommands.model.SenderType;
@@ -18,9 +17,14 @@ import java.util.Map;
 public class SubCommandInfo {
 
     private final Method method;
+    private final String methodName;
+    private final ParameterSpec[] parameters;
+    private final ParameterPlan parameterPlan;
+    private final CommandInvoker invoker;
     private final Object owner;
     private final int weight;
     private final String permission;
+    private final int permissionId;
     private final int maxArgs;
     private final String[] aliases;
     private final String description;
@@ -33,6 +37,7 @@ public class SubCommandInfo {
     private final boolean isAsync;
     private final int cooldownSeconds;
     private final String cooldownBypassPerm;
+    private final int cooldownId;
     private final String[] requires;
     private final int confirmTimeout;
     private final int requiredArgs;
@@ -41,10 +46,21 @@ public class SubCommandInfo {
         return requiredArgs;
     }
 
+    /**
+     * The reflected command method, or null when the command was registered by a generated dispatcher.
+     */
     public Method getMethod() {
         return method;
     }
 
+    public ParameterSpec[] getParameters() {
+        return parameters;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
     public Object getOwner() {
         return owner;
     }
@@ -57,6 +73,13 @@ public class SubCommandInfo {
         return permission;
     }
 
+    /**
+     * The {@link PermissionSnapshot} id of {@link #getPermission()}.
+     */
+    public int getPermissionId() {
+        return permissionId;
+    }
+
     public int getMaxArgs() {
         return maxArgs;
     }
@@ -101,6 +124,13 @@ public class SubCommandInfo {
         return cooldownSeconds;
     }
 
+    /**
+     * The key this command's cooldowns are stored under, shared by every path and alias it runs from.
+     */
+    public int getCooldownId() {
+        return cooldownId;
+    }
+
     public String getCooldownBypassPerm() {
         return cooldownBypassPerm;
     }
@@ -115,115 +145,78 @@ public class SubCommandInfo {
 
     public SubCommandInfo(Method method, Object owner, int weight, String permission, int maxArgs, 
                           String[] aliases, String description, String usage, SenderType senderType, String[] completions) {
-        this.method = method;
+        this(CommandSpec.reflect(null, method, owner, weight, permission, maxArgs, aliases, description, usage, senderType, completions), owner);
+    }
+
+    public SubCommandInfo(CommandSpec spec, Object owner) {
+        this.method = spec.getMethod();
+        this.methodName = spec.getMethodName();
+        this.parameters = spec.getParameters();
+        this.parameterPlan = ParameterPlan.compile(parameters);
+        this.invoker = spec.getInvoker();
         this.owner = owner;
-        this.weight = weight;
-        this.permission = permission;
+        this.weight = spec.getWeight();
+        this.permission = spec.getPermission();
+        this.permissionId = PermissionSnapshot.idOf(permission);
         
-        if (maxArgs == 0) {
+        if (spec.getMaxArgs() == 0) {
             int argCount = 0;
-            for (java.lang.reflect.Parameter param : method.getParameters()) {
+            for (ParameterSpec param : parameters) {
                 if (!CommandSender.class.isAssignableFrom(param.getType())) {
                     argCount++;
                 }
             }
             this.maxArgs = argCount;
         } else {
-            this.maxArgs = maxArgs;
+            this.maxArgs = spec.getMaxArgs();
         }
         
-        this.aliases = aliases != null ? aliases : new String[0];
-        this.description = description != null ? description : "";
-        this.usage = usage != null ? usage : "";
-        this.senderType = senderType != null ? senderType : SenderType.ANY;
+        this.aliases = spec.getAliases();
+        this.description = spec.getDescription();
+        this.usage = spec.getUsage();
+        this.senderType = spec.getSenderType();
+        this.guiIconMaterial = spec.getGuiIconMaterial();
+        this.guiRow = spec.getGuiRow();
+        this.guiCol = spec.getGuiCol();
         
-        if (method.isAnnotationPresent(GuiIcon.class)) {
-            this.guiIconMaterial = method.getAnnotation(GuiIcon.class).material();
-        } else if (method.getDeclaringClass().isAnnotationPresent(GuiIcon.class)) {
-            this.guiIconMaterial = method.getDeclaringClass().getAnnotation(GuiIcon.class).material();
-        } else {
-            this.guiIconMaterial = "";
-        }
-        
-        if (method.isAnnotationPresent(com.dami.easyCommands.annotations.GuiSlot.class)) {
-            com.dami.easyCommands.annotations.GuiSlot guiSlot = method.getAnnotation(com.dami.easyCommands.annotations.GuiSlot.class);
-            this.guiRow = guiSlot.row();
-            this.guiCol = guiSlot.col();
-        } else if (method.getDeclaringClass().isAnnotationPresent(com.dami.easyCommands.annotations.GuiSlot.class)) {
-            com.dami.easyCommands.annotations.GuiSlot guiSlot = method.getDeclaringClass().getAnnotation(com.dami.easyCommands.annotations.GuiSlot.class);
-            this.guiRow = guiSlot.row();
-            this.guiCol = guiSlot.col();
-        } else {
-            this.guiRow = -1;
-            this.guiCol = -1;
-        }
-        
-        String[] combinedCompletions = completions != null ? completions : new String[0];
+        String[] combinedCompletions = spec.getCompletions();
         java.util.List<String> finalCompletions = new java.util.ArrayList<>();
         int compIndex = 0;
-        for (java.lang.reflect.Parameter param : method.getParameters()) {
-            if (CommandSender.class.isAssignableFrom(param.getType()) || param.isAnnotationPresent(com.dami.easyCommands.annotations.Sender.class)) {
+        for (ParameterSpec param : parameters) {
+            if (CommandSender.class.isAssignableFrom(param.getType()) || param.isSender()) {
                 continue;
             }
-            if (param.isAnnotationPresent(com.dami.easyCommands.annotations.Flag.class)) {
+            if (param.isFlag()) {
                 continue;
             }
             String comp = "";
             if (compIndex < combinedCompletions.length && combinedCompletions[compIndex] != null && !combinedCompletions[compIndex].isEmpty()) {
                 comp = combinedCompletions[compIndex];
-            } else if (param.isAnnotationPresent(com.dami.easyCommands.annotations.AutoComplete.class)) {
-                comp = param.getAnnotation(com.dami.easyCommands.annotations.AutoComplete.class).value();
+            } else if (param.getAutoComplete() != null) {
+                comp = param.getAutoComplete();
             }
             finalCompletions.add(comp);
             compIndex++;
         }
         this.completions = finalCompletions.toArray(new String[0]);
-        this.isAsync = method.isAnnotationPresent(com.dami.easyCommands.annotations.Async.class);
-        
-        if (method.isAnnotationPresent(com.dami.easyCommands.annotations.Cooldown.class)) {
-            com.dami.easyCommands.annotations.Cooldown cd = method.getAnnotation(com.dami.easyCommands.annotations.Cooldown.class);
-            this.cooldownSeconds = cd.seconds();
-            this.cooldownBypassPerm = cd.bypassPermission();
-        } else {
-            this.cooldownSeconds = 0;
-            this.cooldownBypassPerm = "";
-        }
-
-        if (method.isAnnotationPresent(com.dami.easyCommands.annotations.Require.class)) {
-            this.requires = method.getAnnotation(com.dami.easyCommands.annotations.Require.class).value();
-        } else {
-            this.requires = new String[0];
-        }
-
-        if (method.isAnnotationPresent(com.dami.easyCommands.annotations.Confirm.class)) {
-            this.confirmTimeout = method.getAnnotation(com.dami.easyCommands.annotations.Confirm.class).timeout();
-        } else {
-            this.confirmTimeout = 0;
-        }
+        this.isAsync = spec.isAsync();
+        this.cooldownSeconds = spec.getCooldownSeconds();
+        this.cooldownBypassPerm = spec.getCooldownBypassPerm();
+        this.cooldownId = cooldownSeconds > 0 ? CooldownManager.commandId(spec.getPath()) : -1;
+        this.requires = spec.getRequires();
+        this.confirmTimeout = spec.getConfirmTimeout();
 
         // Calculate required arguments
         int reqCount = 0;
-        com.dami.easyCommands.annotations.SubCommand subAnn = method.getAnnotation(com.dami.easyCommands.annotations.SubCommand.class);
-        if (subAnn == null) {
-            subAnn = method.getDeclaringClass().getAnnotation(com.dami.easyCommands.annotations.SubCommand.class);
-        }
-        if (subAnn != null && subAnn.requiredArgs() != -1) {
-            reqCount = subAnn.requiredArgs();
-        } else if (method.getName().equals("mainCommand") && method.getParameterCount() == 2 && method.getParameterTypes()[1] == String[].class) {
-            reqCount = 0;
+        if (spec.getRequiredArgs() != CommandSpec.AUTO_REQUIRED_ARGS) {
+            reqCount = spec.getRequiredArgs();
         } else {
-            for (java.lang.reflect.Parameter param : method.getParameters()) {
+            for (ParameterSpec param : parameters) {
                 Class<?> paramType = param.getType();
-                if (CommandSender.class.isAssignableFrom(paramType) || param.isAnnotationPresent(com.dami.easyCommands.annotations.Sender.class)) {
-                    continue;
-                }
-                if (param.isAnnotationPresent(com.dami.easyCommands.annotations.Flag.class)) {
+                if (CommandSender.class.isAssignableFrom(paramType) || param.isSender()) {
                     continue;
                 }
-                if (param.isAnnotationPresent(com.dami.easyCommands.annotations.Session.class)) {
-                    continue;
-                }
-                if (param.isAnnotationPresent(com.dami.easyCommands.annotations.Optional.class)) {
+                if (param.isFlag() || param.isSession() || param.isOptional()) {
                     continue;
                 }
                 if (paramType.isArray() && paramType.getComponentType() == String.class) {
@@ -235,48 +228,54 @@ public class SubCommandInfo {
         this.requiredArgs = reqCount;
     }
 
-    public void run(CommandSender commandSender, String[] args, List<String> wildcards, MessageHandler messageHandler, String baseCommandName, String fullPath){
+    private Map<String, String> placeholders(String baseCommandName) {
         Map<String, String> placeholders = new HashMap<>();
         placeholders.put("command", baseCommandName);
         placeholders.put("usage", usage.isEmpty() ? baseCommandName : usage);
+        return placeholders;
+    }
 
-        if(!commandSender.hasPermission(permission) && !permission.isEmpty()){
-            messageHandler.sendMessage(commandSender, MessageKey.NO_PERMISSION, placeholders);
+    public void run(InvocationContext context){
+        CommandSender commandSender = context.getSender();
+        MessageHandler messageHandler = context.getMessageHandler();
+        String baseCommandName = context.getBaseCommandName();
+
+        if(!permission.isEmpty() && !commandSender.hasPermission(permission)){
+            messageHandler.sendMessage(commandSender, MessageKey.NO_PERMISSION, placeholders(baseCommandName));
             return;
         }
 
         if(senderType == SenderType.PLAYER && !(commandSender instanceof Player)){
-            messageHandler.sendMessage(commandSender, MessageKey.PLAYER_ONLY, placeholders);
+            messageHandler.sendMessage(commandSender, MessageKey.PLAYER_ONLY, placeholders(baseCommandName));
             return;
         }
 
         if(senderType == SenderType.CONSOLE && (commandSender instanceof Player)){
-            messageHandler.sendMessage(commandSender, MessageKey.CONSOLE_ONLY, placeholders);
+            messageHandler.sendMessage(commandSender, MessageKey.CONSOLE_ONLY, placeholders(baseCommandName));
             return;
         }
 
         if (cooldownSeconds > 0 && commandSender instanceof Player) {
             Player player = (Player) commandSender;
+            String fullPath = context.fullPath();
             String bypass = cooldownBypassPerm.isEmpty() ? fullPath.replace(" ", ".") + ".bypass.cooldown" : cooldownBypassPerm;
             if (!player.hasPermission(bypass)) {
-                if (CooldownManager.isOnCooldown(fullPath, player.getUniqueId())) {
-                    long remaining = CooldownManager.getRemainingSeconds(fullPath, player.getUniqueId());
-                    Map<String, String> cdPlaceholders = new HashMap<>(placeholders);
+                long remaining = CooldownManager.tryAcquire(cooldownId, player.getUniqueId(), cooldownSeconds);
+                if (remaining > 0) {
+                    Map<String, String> cdPlaceholders = placeholders(baseCommandName);
                     cdPlaceholders.put("time", String.valueOf(remaining));
                     messageHandler.sendMessage(commandSender, MessageKey.COOLDOWN_ACTIVE, cdPlaceholders);
                     return;
-                } else {
-                    CooldownManager.setCooldown(fullPath, player.getUniqueId(), cooldownSeconds);
                 }
             }
         }
 
         if (confirmTimeout > 0 && commandSender instanceof Player) {
             Player p = (Player) commandSender;
-            String cmdSignature = fullPath + " " + String.join(" ", args);
+            String cmdSignature = context.fullPath() + " " + String.join(" ", context.remainingArgs());
             if (!com.dami.easyCommands.internal.ConfirmationManager.isConfirmed(p.getUniqueId(), cmdSignature)) {
                 com.dami.easyCommands.internal.ConfirmationManager.requestConfirmation(p.getUniqueId(), cmdSignature, confirmTimeout);
-                Map<String, String> confPlaceholders = new HashMap<>(placeholders);
+                Map<String, String> confPlaceholders = placeholders(baseCommandName);
                 confPlaceholders.put("time", String.valueOf(confirmTimeout));
                 messageHandler.sendMessage(commandSender, MessageKey.CONFIRMATION_REQUIRED, confPlaceholders);
                 return;
@@ -289,14 +288,14 @@ public class SubCommandInfo {
                 if (condition != null) {
                     condition.check(commandSender);
                 } else {
-                    commandSender.sendMessage(net.kyori.adventure.text.minimessage.MiniMessage.miniMessage().deserialize("<red>Warning: Condition '" + req + "' is not registered.</red>"));
+                    commandSender.sendMessage(com.dami.easyCommands.core.MessageTemplate.parse("<red>Warning: Condition '" + req + "' is not registered.</red>"));
                 }
             }
         } catch (ValidationException e) {
             if (e.getCustomMessage() != null) {
-                net.kyori.adventure.text.Component component = net.kyori.adventure.text.minimessage.MiniMessage.miniMessage().deserialize(e.getCustomMessage());
+                net.kyori.adventure.text.Component component = com.dami.easyCommands.core.MessageTemplate.parse(e.getCustomMessage());
                 if (e.getHoverText() != null && !e.getHoverText().isEmpty()) {
-                    component = component.hoverEvent(net.kyori.adventure.text.event.HoverEvent.showText(net.kyori.adventure.text.minimessage.MiniMessage.miniMessage().deserialize(e.getHoverText())));
+                    component = component.hoverEvent(net.kyori.adventure.text.event.HoverEvent.showText(com.dami.easyCommands.core.MessageTemplate.parse(e.getHoverText())));
                 }
                 if (e.getClickActionCommand() != null && !e.getClickActionCommand().isEmpty()) {
                     component = component.clickEvent(net.kyori.adventure.text.event.ClickEvent.runCommand(e.getClickActionCommand()));
@@ -304,33 +303,11 @@ public class SubCommandInfo {
                 commandSender.sendMessage(component);
                 return;
             }
-            Map<String, String> mergedPlaceholders = new HashMap<>(placeholders);
+            Map<String, String> mergedPlaceholders = placeholders(baseCommandName);
             if (e.getPlaceholders() != null) {
                 mergedPlaceholders.putAll(e.getPlaceholders());
             }
-            if (messageHandler instanceof com.dami.easyCommands.core.MessageHandler.DefaultMessageHandler) {
-                com.dami.easyCommands.core.MessageHandler.DefaultMessageHandler defaultHandler = (com.dami.easyCommands.core.MessageHandler.DefaultMessageHandler) messageHandler;
-                String rawMsg = defaultHandler.getRawMessage(e.getMessageKey());
-                if (rawMsg == null) rawMsg = "Message not found: " + e.getMessageKey();
-                
-                net.kyori.adventure.text.minimessage.tag.resolver.TagResolver.Builder resolverBuilder = net.kyori.adventure.text.minimessage.tag.resolver.TagResolver.builder();
-                for (Map.Entry<String, String> entry : mergedPlaceholders.entrySet()) {
-                    resolverBuilder.resolver(net.kyori.adventure.text.minimessage.tag.resolver.Placeholder.parsed(entry.getKey(), entry.getValue()));
-                }
-                
-                net.kyori.adventure.text.Component component = net.kyori.adventure.text.minimessage.MiniMessage.miniMessage().deserialize(rawMsg, resolverBuilder.build());
-                
-                if (e.getHoverText() != null && !e.getHoverText().isEmpty()) {
-                    component = component.hoverEvent(net.kyori.adventure.text.event.HoverEvent.showText(net.kyori.adventure.text.minimessage.MiniMessage.miniMessage().deserialize(e.getHoverText())));
-                }
-                if (e.getClickActionCommand() != null && !e.getClickActionCommand().isEmpty()) {
-                    component = component.clickEvent(net.kyori.adventure.text.event.ClickEvent.runCommand(e.getClickActionCommand()));
-                }
-                
-                commandSender.sendMessage(component);
-            } else {
-                messageHandler.sendMessage(commandSender, e.getMessageKey(), mergedPlaceholders);
-            }
+            sendValidationError(commandSender, messageHandler, e, mergedPlaceholders);
             return;
         } catch (Exception e) {
             e.printStackTrace();
@@ -338,72 +315,22 @@ public class SubCommandInfo {
         }
 
         try {
-            String[] fullArgs;
-            if (wildcards != null && !wildcards.isEmpty()) {
-                fullArgs = new String[wildcards.size() + args.length];
-                for (int i = 0; i < wildcards.size(); i++) {
-                    fullArgs[i] = wildcards.get(i);
-                }
-                System.arraycopy(args, 0, fullArgs, wildcards.size(), args.length);
-            } else {
-                fullArgs = args;
-            }
-
-            Object[] resolvedParams = ParameterResolver.resolveParameters(method, commandSender, fullArgs);
-            
-            Runnable execution = () -> {
-                try {
-                    method.setAccessible(true);
-                    method.invoke(owner, resolvedParams);
-                } catch (Exception e) {
-                    Throwable cause = e.getCause() != null ? e.getCause() : e;
-                    com.dami.easyCommands.model.ExceptionHandler handler = com.dami.easyCommands.core.ExceptionRegistry.getHandler(cause.getClass());
-                    if (handler != null) {
-                        @SuppressWarnings("unchecked")
-                        com.dami.easyCommands.model.ExceptionHandler<Throwable> castedHandler = (com.dami.easyCommands.model.ExceptionHandler<Throwable>) handler;
-                        castedHandler.handle(commandSender, cause);
-                    } else {
-                        System.err.println("Error while trying to run command " + method.getName() + " in " + owner.getClass().getSimpleName());
-                        cause.printStackTrace();
-                        commandSender.sendMessage("§cAn internal error occurred while executing this command.");
-                    }
-                }
-            };
+            Object[] resolvedParams = parameterPlan.bind(commandSender, context);
 
             if (isAsync) {
                 org.bukkit.plugin.Plugin plugin = org.bukkit.Bukkit.getPluginManager().getPlugin("EpicKingdom");
-                org.bukkit.Bukkit.getScheduler().runTaskAsynchronously(plugin, execution);
+                org.bukkit.Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> execute(commandSender, resolvedParams));
             } else {
-                execution.run();
+                execute(commandSender, resolvedParams);
             }
         } catch (ValidationException e) {
-            if (messageHandler instanceof com.dami.easyCommands.core.MessageHandler.DefaultMessageHandler) {
-                com.dami.easyCommands.core.MessageHandler.DefaultMessageHandler defaultHandler = (com.dami.easyCommands.core.MessageHandler.DefaultMessageHandler) messageHandler;
-                String rawMsg = defaultHandler.getRawMessage(e.getMessageKey());
-                if (rawMsg == null) rawMsg = "Message not found: " + e.getMessageKey();
-                
-                net.kyori.adventure.text.minimessage.tag.resolver.TagResolver.Builder resolverBuilder = net.kyori.adventure.text.minimessage.tag.resolver.TagResolver.builder();
-                if (e.getPlaceholders() != null) {
-                    for (Map.Entry<String, String> entry : e.getPlaceholders().entrySet()) {
-                        resolverBuilder.resolver(net.kyori.adventure.text.minimessage.tag.resolver.Placeholder.parsed(entry.getKey(), entry.getValue()));
-                    }
-                }
-                
-                net.kyori.adventure.text.Component component = net.kyori.adventure.text.minimessage.MiniMessage.miniMessage().deserialize(rawMsg, resolverBuilder.build());
-                
-                if (e.getHoverText() != null && !e.getHoverText().isEmpty()) {
-                    component = component.hoverEvent(net.kyori.adventure.text.event.HoverEvent.showText(net.kyori.adventure.text.minimessage.MiniMessage.miniMessage().deserialize(e.getHoverText())));
-                }
-                if (e.getClickActionCommand() != null && !e.getClickActionCommand().isEmpty()) {
-                    component = component.clickEvent(net.kyori.adventure.text.event.ClickEvent.runCommand(e.getClickActionCommand()));
-                }
-                
-                commandSender.sendMessage(component);
-            } else {
-                messageHandler.sendMessage(commandSender, e.getMessageKey(), e.getPlaceholders());
+            Map<String, String> mergedPlaceholders = placeholders(baseCommandName);
+            if (e.getPlaceholders() != null) {
+                mergedPlaceholders.putAll(e.getPlaceholders());
             }
+            sendValidationError(commandSender, messageHandler, e, mergedPlaceholders);
         } catch (Exception e) {
-            System.err.println("Error while trying to run command " + method.getName() + " in " + owner.getClass().getSimpleName());
+            System.err.println("Error while trying to run command " + methodName + " in " + owner.getClass().getSimpleName());
             if (e.getCause() != null) {
                 e.getCause().printStackTrace();
             } else {
@@ -412,7 +339,46 @@ public class SubCommandInfo {
         }
     }
 
+    private void execute(CommandSender commandSender, Object[] resolvedParams) {
+        try {
+            invoker.invoke(resolvedParams);
+        } catch (Throwable cause) {
+            com.dami.easyCommands.model.ExceptionHandler handler = com.dami.easyCommands.core.ExceptionRegistry.getHandler(cause.getClass());
+            if (handler != null) {
+                @SuppressWarnings("unchecked")
+                com.dami.easyCommands.model.ExceptionHandler<Throwable> castedHandler = (com.dami.easyCommands.model.ExceptionHandler<Throwable>) handler;
+                castedHandler.handle(commandSender, cause);
+            } else {
+                System.err.println("Error while trying to run command " + methodName + " in " + owner.getClass().getSimpleName());
+                cause.printStackTrace();
+                commandSender.sendMessage("§cAn internal error occurred while executing this command.");
+            }
+        }
+    }
+
+    private void sendValidationError(CommandSender commandSender, MessageHandler messageHandler, ValidationException e, Map<String, String> placeholders) {
+        if (messageHandler instanceof com.dami.easyCommands.core.MessageHandler.DefaultMessageHandler) {
+            com.dami.easyCommands.core.MessageHandler.DefaultMessageHandler defaultHandler = (com.dami.easyCommands.core.MessageHandler.DefaultMessageHandler) messageHandler;
+            net.kyori.adventure.text.Component component = defaultHandler.render(e.getMessageKey(), placeholders);
+
+            if (e.getHoverText() != null && !e.getHoverText().isEmpty()) {
+                component = component.hoverEvent(net.kyori.adventure.text.event.HoverEvent.showText(com.dami.easyCommands.core.MessageTemplate.parse(e.getHoverText())));
+            }
+            if (e.getClickActionCommand() != null && !e.getClickActionCommand().isEmpty()) {
+                component = component.clickEvent(net.kyori.adventure.text.event.ClickEvent.runCommand(e.getClickActionCommand()));
+            }
+
+            commandSender.sendMessage(component);
+        } else {
+            messageHandler.sendMessage(commandSender, e.getMessageKey(), placeholders);
+        }
+    }
+
     public List<String> getTabComplete(CommandSender sender, String[] args, List<String> wildcards) {
-        return CompletionResolver.resolve(method, sender, args, wildcards, completions);
+        return CompletionResolver.resolve(parameters, sender, args, wildcards, completions);
+    }
+
+    public List<String> getTabComplete(InvocationContext context) {
+        return CompletionResolver.resolve(parameters, parameterPlan, context.getSender(), context, completions);
     }
 }
@@ -0,0 +1,101 @@
+package com.dami.easyCommands.internal;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the last tab completion of every player. Clients ask again for each typed character,
+ * so while the player keeps typing the same argument the earlier answer is narrowed to the longer
+ * prefix instead of walking the tree and calling providers again.
+ * <p>
+ * An entry belongs to a compiled tree and the exact text before the argument being typed, and is
+ * only reused while the player's {@link PermissionSnapshot} is the same one: anything that drops
+ * the snapshot (quit, permission recalculation, {@link PermissionCache#invalidate}) drops the
+ * entry with it. Entries also expire after {@link #TTL_MILLIS}. Only active while
+ * {@link PermissionCache} is registered and completion is not ranked.
+ * <p>
+ * Completion narrows every unranked answer for a plain word to the typed prefix with
+ * {@link #narrow}, cached or not, so narrowing a cached answer further gives what the tree would.
+ */
+public final class TabCache {
+
+    public static final long TTL_MILLIS = 3_000L;
+
+    private static final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    private TabCache() {
+    }
+
+    // Ranked results are cut to the best few, so they cannot be narrowed by prefix
+    public static boolean isEnabled(CommandSender sender) {
+        return sender instanceof Player && PermissionCache.isRegistered() && !CompletionResolver.isRanked();
+    }
+
+    /**
+     * The cached completions narrowed to {@code prefix}, or null when there is nothing to reuse.
+     */
+    public static List<String> lookup(CommandSender sender, Object tree, String line, String prefix, PermissionSnapshot permissions) {
+        if (!isEnabled(sender)) {
+            return null;
+        }
+        Entry entry = entries.get(((Player) sender).getUniqueId());
+        if (entry == null || entry.tree != tree || entry.permissions != permissions || !entry.line.equals(line)
+                || System.currentTimeMillis() - entry.createdAt > TTL_MILLIS
+                || !prefix.regionMatches(true, 0, entry.prefix, 0, entry.prefix.length())) {
+            return null;
+        }
+        return narrow(entry.suggestions, prefix);
+    }
+
+    /**
+     * The suggestions that start with {@code prefix}, ignoring case.
+     */
+    public static List<String> narrow(List<String> suggestions, String prefix) {
+        List<String> narrowed = new ArrayList<>();
+        for (String suggestion : suggestions) {
+            if (suggestion.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                narrowed.add(suggestion);
+            }
+        }
+        return narrowed;
+    }
+
+    public static void store(CommandSender sender, Object tree, String line, String prefix, PermissionSnapshot permissions, List<String> suggestions) {
+        if (!isEnabled(sender)) {
+            return;
+        }
+        entries.put(((Player) sender).getUniqueId(), new Entry(tree, line, prefix, permissions, new ArrayList<>(suggestions)));
+    }
+
+    public static void invalidate(UUID playerId) {
+        entries.remove(playerId);
+    }
+
+    public static void invalidateAll() {
+        entries.clear();
+    }
+
+    private static final class Entry {
+        private final Object tree;
+        private final String line;
+        private final String prefix;
+        private final PermissionSnapshot permissions;
+        private final List<String> suggestions;
+        private final long createdAt;
+
+        Entry(Object tree, String line, String prefix, PermissionSnapshot permissions, List<String> suggestions) {
+            this.tree = tree;
+            this.line = line;
+            this.prefix = prefix;
+            this.permissions = permissions;
+            this.suggestions = suggestions;
+            this.createdAt = System.currentTimeMillis();
+        }
+    }
+}
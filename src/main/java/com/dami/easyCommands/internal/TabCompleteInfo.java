@@ -7,18 +7,51 @@ import java.util.List;
 
 public class TabCompleteInfo {
 
-    private final Method method;
+    private static final byte BIND_NULL = 0;
+    private static final byte BIND_SENDER = 1;
+    private static final byte BIND_ARGS = 2;
+    private static final byte BIND_WILDCARDS = 3;
+
+    private final String methodName;
     private final Object owner;
+    private final CommandInvoker invoker;
+    private final byte[] bindings;
 
     private final String permission;
 
     private final int priority;
 
+    private final boolean threadSafe;
+
     public TabCompleteInfo(Method method, Object owner, String permission, int priority) {
-        this.method = method;
+        this(TabSpec.reflect(null, method, owner, permission, priority), owner);
+    }
+
+    public TabCompleteInfo(TabSpec spec, Object owner) {
+        this.methodName = spec.getMethodName();
         this.owner = owner;
-        this.permission = permission;
-        this.priority = priority;
+        this.permission = spec.getPermission();
+        this.priority = spec.getPriority();
+        this.threadSafe = spec.isThreadSafe();
+        this.invoker = spec.getInvoker();
+
+        Class<?>[] parameterTypes = spec.getParameterTypes();
+        this.bindings = new byte[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (CommandSender.class.isAssignableFrom(parameterTypes[i])) {
+                bindings[i] = BIND_SENDER;
+            } else if (parameterTypes[i] == String[].class) {
+                bindings[i] = BIND_ARGS;
+            } else if (List.class.isAssignableFrom(parameterTypes[i])) {
+                bindings[i] = BIND_WILDCARDS;
+            } else {
+                bindings[i] = BIND_NULL;
+            }
+        }
+    }
+
+    public Object getOwner() {
+        return owner;
     }
 
     public String getPermission() {
@@ -29,28 +62,28 @@ public class TabCompleteInfo {
         return priority;
     }
 
+    public boolean isThreadSafe() {
+        return threadSafe;
+    }
+
+    @SuppressWarnings("unchecked")
     public List<String> getTabComplete(CommandSender sender, String[] args, List<String> wildcards){
-        if(!sender.hasPermission(permission) && !permission.isEmpty()){
+        if(!permission.isEmpty() && !sender.hasPermission(permission)){
             return null;
         }
         try {
-            method.setAccessible(true);
-            Class<?>[] parameterTypes = method.getParameterTypes();
-            Object[] params = new Object[parameterTypes.length];
-            for (int i = 0; i < parameterTypes.length; i++) {
-                if (CommandSender.class.isAssignableFrom(parameterTypes[i])) {
-                    params[i] = sender;
-                } else if (parameterTypes[i] == String[].class) {
-                    params[i] = args;
-                } else if (List.class.isAssignableFrom(parameterTypes[i])) {
-                    params[i] = wildcards;
-                } else {
-                    params[i] = null;
+            Object[] params = new Object[bindings.length];
+            for (int i = 0; i < bindings.length; i++) {
+                switch (bindings[i]) {
+                    case BIND_SENDER: params[i] = sender; break;
+                    case BIND_ARGS: params[i] = args; break;
+                    case BIND_WILDCARDS: params[i] = wildcards; break;
+                    default: params[i] = null; break;
                 }
             }
-            return (List<String>) method.invoke(owner, params);
-        } catch (Exception e) {
-            System.err.println("Error while trying to get tab completion for " + method.getName() + " in " + owner.getClass().getSimpleName());
+            return (List<String>) invoker.invoke(params);
+        } catch (Throwable e) {
+            System.err.println("Error while trying to get tab completion for " + methodName + " in " + owner.getClass().getSimpleName());
             e.printStackTrace();
         }
         return null;
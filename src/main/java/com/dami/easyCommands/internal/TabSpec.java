@@ -0,0 +1,78 @@
+package com.dami.easyCommands.internal;
+
+import com.dami.easyCommands.annotations.SubCommandTab;
+
+import java.lang.reflect.Method;
+
+/**
+ * Everything needed to register one tab-complete method, resolved up front.
+ * See {@link CommandSpec} for how specs are produced.
+ */
+public final class TabSpec {
+
+    private final String[] path;
+    private final String methodName;
+    private final CommandInvoker invoker;
+    private final Class<?>[] parameterTypes;
+    private final String permission;
+    private final int priority;
+    private final boolean threadSafe;
+
+    /**
+     * @param path command path relative to the owner, including the command name
+     */
+    public TabSpec(String[] path, String methodName, CommandInvoker invoker, Class<?>[] parameterTypes, String permission, int priority) {
+        this(path, methodName, invoker, parameterTypes, permission, priority, false);
+    }
+
+    public TabSpec(String[] path, String methodName, CommandInvoker invoker, Class<?>[] parameterTypes, String permission, int priority, boolean threadSafe) {
+        this.path = path;
+        this.methodName = methodName;
+        this.invoker = invoker;
+        this.parameterTypes = parameterTypes;
+        this.permission = permission != null ? permission : "";
+        this.priority = priority;
+        this.threadSafe = threadSafe;
+    }
+
+    public static TabSpec reflect(String[] path, Method method, Object owner, String permission, int priority) {
+        return new TabSpec(path, method.getName(), CommandInvoker.bind(method, owner), method.getParameterTypes(), permission, priority);
+    }
+
+    public static TabSpec reflect(String[] path, Method method, SubCommandTab tab, Object owner) {
+        return new TabSpec(path, method.getName(), CommandInvoker.bind(method, owner), method.getParameterTypes(),
+                tab.permission(), tab.priority(), tab.threadSafe());
+    }
+
+    public TabSpec withPath(String[] path) {
+        return new TabSpec(path, methodName, invoker, parameterTypes, permission, priority, threadSafe);
+    }
+
+    public String[] getPath() {
+        return path;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public CommandInvoker getInvoker() {
+        return invoker;
+    }
+
+    public Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public String getPermission() {
+        return permission;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public boolean isThreadSafe() {
+        return threadSafe;
+    }
+}
@@ -0,0 +1,50 @@
+package com.dami.easyCommands.internal;
+
+/**
+ * One published version of a command's tree: the compiled root and the help index built from it.
+ * Snapshots are immutable and replaced as a whole, so a reader that takes one reference sees a
+ * consistent tree for the rest of its dispatch or completion, whatever registrations happen meanwhile.
+ * <p>
+ * The help index walks the whole tree, so it is built on first use rather than on publication:
+ * a path-level update stays proportional to the path.
+ */
+public final class TreeSnapshot {
+
+    public static final TreeSnapshot EMPTY = new TreeSnapshot(CompiledNode.EMPTY, 0);
+
+    private final CompiledNode root;
+    private volatile HelpIndex helpIndex;
+    private final long version;
+
+    private TreeSnapshot(CompiledNode root, long version) {
+        this.root = root;
+        this.version = version;
+    }
+
+    /**
+     * The snapshot that follows this one.
+     */
+    public TreeSnapshot next(CompiledNode root) {
+        return new TreeSnapshot(root, version + 1);
+    }
+
+    public CompiledNode getRoot() {
+        return root;
+    }
+
+    public HelpIndex getHelpIndex() {
+        HelpIndex index = helpIndex;
+        if (index == null) {
+            index = HelpIndex.ofRoot(root);
+            helpIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Counts publications, starting at 0 for the empty tree.
+     */
+    public long getVersion() {
+        return version;
+    }
+}
@@ -14,5 +14,6 @@ public enum MessageKey {
     MAX_VALUE,
     DID_YOU_MEAN,
     COOLDOWN_ACTIVE,
-    CONFIRMATION_REQUIRED
+    CONFIRMATION_REQUIRED,
+    PROFILE_LOOKUP
 }
@@ -0,0 +1,377 @@
+package com.dami.easyCommands.processor;
+
+import com.dami.easyCommands.annotations.Async;
+import com.dami.easyCommands.annotations.AutoComplete;
+import com.dami.easyCommands.annotations.Choices;
+import com.dami.easyCommands.annotations.Confirm;
+import com.dami.easyCommands.annotations.Cooldown;
+import com.dami.easyCommands.annotations.Flag;
+import com.dami.easyCommands.annotations.GuiIcon;
+import com.dami.easyCommands.annotations.GuiSlot;
+import com.dami.easyCommands.annotations.Max;
+import com.dami.easyCommands.annotations.Min;
+import com.dami.easyCommands.annotations.Optional;
+import com.dami.easyCommands.annotations.Require;
+import com.dami.easyCommands.annotations.Sender;
+import com.dami.easyCommands.annotations.Session;
+import com.dami.easyCommands.annotations.SubCommand;
+import com.dami.easyCommands.annotations.SubCommandTab;
+import com.dami.easyCommands.annotations.Tab;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Generates a {@code GeneratedDispatcher} for every class with {@code @SubCommand} or
+ * {@code @SubCommandTab} methods (or a class level {@code @SubCommand}). The generated code holds
+ * the annotation values as literals and calls the command methods directly, so registration
+ * skips {@code getDeclaredMethods()} and annotation reads and execution skips reflection.
+ * <p>
+ * The processor is opt-in: add the EasyCommands {@code processor} jar to {@code annotationProcessorPaths}.
+ * It is left out of the shaded runtime jar.
+ * Classes the generated code cannot call (private classes or private command methods) are
+ * skipped with a note and keep using reflection.
+ */
+@SupportedAnnotationTypes({
+        "com.dami.easyCommands.annotations.SubCommand",
+        "com.dami.easyCommands.annotations.SubCommandTab"
+})
+public class EasyCommandsProcessor extends AbstractProcessor {
+
+    private static final String SUFFIX = "_EasyCommandsDispatcher";
+    private static final String COMMAND_SENDER = "org.bukkit.command.CommandSender";
+
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(SubCommand.class)) {
+            if (element.getKind() == ElementKind.METHOD) {
+                types.add((TypeElement) element.getEnclosingElement());
+            } else if (element.getKind().isClass()) {
+                types.add((TypeElement) element);
+            }
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(SubCommandTab.class)) {
+            if (element.getKind() == ElementKind.METHOD) {
+                types.add((TypeElement) element.getEnclosingElement());
+            }
+        }
+
+        for (TypeElement type : types) {
+            if (!generated.add(type.getQualifiedName().toString())) {
+                continue;
+            }
+            String reason = unsupportedReason(type);
+            if (reason != null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "EasyCommands: no dispatcher generated for " + type.getQualifiedName() + " (" + reason + "), reflection is used instead", type);
+                continue;
+            }
+            try {
+                write(type);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "EasyCommands: could not write dispatcher for " + type.getQualifiedName() + ": " + e.getMessage(), type);
+            }
+        }
+        return false;
+    }
+
+    private String unsupportedReason(TypeElement type) {
+        if (type.getNestingKind() == NestingKind.ANONYMOUS || type.getNestingKind() == NestingKind.LOCAL) {
+            return "local or anonymous class";
+        }
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return "private class";
+            }
+        }
+        for (ExecutableElement method : annotatedMethods(type)) {
+            if (method.getModifiers().contains(Modifier.PRIVATE)) {
+                return "private method " + method.getSimpleName();
+            }
+        }
+        if (type.getAnnotation(SubCommand.class) != null
+                && (findPublicMethod(type, "mainCommand") == null || findPublicMethod(type, "tabComplete") == null)) {
+            return "no public mainCommand/tabComplete(CommandSender, String[])";
+        }
+        return null;
+    }
+
+    private List<ExecutableElement> annotatedMethods(TypeElement type) {
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getAnnotation(SubCommand.class) != null || method.getAnnotation(SubCommandTab.class) != null) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    private ExecutableElement findPublicMethod(TypeElement type, String name) {
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (!method.getSimpleName().contentEquals(name) || !method.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            List<? extends VariableElement> params = method.getParameters();
+            if (params.size() == 2 && erasure(params.get(0).asType()).equals(COMMAND_SENDER)
+                    && erasure(params.get(1).asType()).equals("java.lang.String[]")) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private void write(TypeElement type) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_') + SUFFIX;
+        String ownerType = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+
+        List<String> commands = new ArrayList<>();
+        List<String> tabs = new ArrayList<>();
+        for (ExecutableElement method : annotatedMethods(type)) {
+            SubCommand sub = method.getAnnotation(SubCommand.class);
+            if (sub != null) {
+                commands.add(commandSpec(method, relativePath(sub.commandPath(), sub.name()), sub));
+            }
+            SubCommandTab tab = method.getAnnotation(SubCommandTab.class);
+            if (tab != null) {
+                tabs.add(tabSpec(method, relativePath(tab.commandPath(), tab.name()), tab.permission(), tab.priority(), tab.threadSafe()));
+            }
+        }
+
+        SubCommand classSub = type.getAnnotation(SubCommand.class);
+        String basePath = "null";
+        String mainCommand = "null";
+        String tabComplete = "null";
+        if (classSub != null) {
+            basePath = stringArray(relativePath(classSub.commandPath(), classSub.name()));
+            mainCommand = commandSpec(findPublicMethod(type, "mainCommand"), new String[0], classSub);
+            tabComplete = tabSpec(findPublicMethod(type, "tabComplete"), new String[0], classSub.permission(), 100, false);
+        }
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                (packageName.isEmpty() ? "" : packageName + ".") + simpleName, type);
+        try (Writer out = file.openWriter()) {
+            if (!packageName.isEmpty()) {
+                out.write("package " + packageName + ";\n\n");
+            }
+            out.write("import com.dami.easyCommands.internal.CommandSpec;\n");
+            out.write("import com.dami.easyCommands.internal.ParameterSpec;\n");
+            out.write("import com.dami.easyCommands.internal.TabSpec;\n\n");
+            out.write("import java.util.ArrayList;\n");
+            out.write("import java.util.List;\n\n");
+            out.write("@javax.annotation.processing.Generated(\"" + EasyCommandsProcessor.class.getName() + "\")\n");
+            out.write("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+            out.write("public final class " + simpleName + " implements com.dami.easyCommands.core.GeneratedDispatcher<" + ownerType + "> {\n\n");
+
+            out.write("    @Override\n");
+            out.write("    public List<CommandSpec> commands(" + ownerType + " owner) {\n");
+            out.write("        List<CommandSpec> specs = new ArrayList<>();\n");
+            for (String command : commands) {
+                out.write("        specs.add(" + command + ");\n");
+            }
+            out.write("        return specs;\n");
+            out.write("    }\n\n");
+
+            out.write("    @Override\n");
+            out.write("    public List<TabSpec> tabCompletes(" + ownerType + " owner) {\n");
+            out.write("        List<TabSpec> specs = new ArrayList<>();\n");
+            for (String tab : tabs) {
+                out.write("        specs.add(" + tab + ");\n");
+            }
+            out.write("        return specs;\n");
+            out.write("    }\n\n");
+
+            out.write("    @Override\n");
+            out.write("    public String[] basePath() {\n");
+            out.write("        return " + basePath + ";\n");
+            out.write("    }\n\n");
+
+            out.write("    @Override\n");
+            out.write("    public CommandSpec mainCommand(" + ownerType + " owner) {\n");
+            out.write("        return " + mainCommand + ";\n");
+            out.write("    }\n\n");
+
+            out.write("    @Override\n");
+            out.write("    public TabSpec tabComplete(" + ownerType + " owner) {\n");
+            out.write("        return " + tabComplete + ";\n");
+            out.write("    }\n");
+            out.write("}\n");
+        }
+    }
+
+    private String commandSpec(ExecutableElement method, String[] path, SubCommand sub) {
+        Element declaringClass = method.getEnclosingElement();
+
+        GuiIcon guiIcon = method.getAnnotation(GuiIcon.class);
+        if (guiIcon == null) {
+            guiIcon = declaringClass.getAnnotation(GuiIcon.class);
+        }
+        GuiSlot guiSlot = method.getAnnotation(GuiSlot.class);
+        if (guiSlot == null) {
+            guiSlot = declaringClass.getAnnotation(GuiSlot.class);
+        }
+        Cooldown cooldown = method.getAnnotation(Cooldown.class);
+        Require require = method.getAnnotation(Require.class);
+        Confirm confirm = method.getAnnotation(Confirm.class);
+
+        // Same rules as CommandSpec.reflect
+        int requiredArgs = -1;
+        SubCommand subAnn = method.getAnnotation(SubCommand.class);
+        if (subAnn == null) {
+            subAnn = declaringClass.getAnnotation(SubCommand.class);
+        }
+        List<? extends VariableElement> params = method.getParameters();
+        if (subAnn != null && subAnn.requiredArgs() != -1) {
+            requiredArgs = subAnn.requiredArgs();
+        } else if (method.getSimpleName().contentEquals("mainCommand") && params.size() == 2
+                && erasure(params.get(1).asType()).equals("java.lang.String[]")) {
+            requiredArgs = 0;
+        }
+
+        StringBuilder parameters = new StringBuilder("new ParameterSpec[]{");
+        for (int i = 0; i < params.size(); i++) {
+            if (i > 0) parameters.append(", ");
+            parameters.append(parameterSpec(params.get(i)));
+        }
+        parameters.append("}");
+
+        return "new CommandSpec(" + stringArray(path) + ", " + literal(method.getSimpleName().toString()) + ", null, "
+                + invoker(method) + ", " + parameters + ", "
+                + sub.weight() + ", " + literal(sub.permission()) + ", " + sub.maxArgs() + ", "
+                + stringArray(sub.aliases()) + ", " + literal(sub.description()) + ", " + literal(sub.usage()) + ", "
+                + "com.dami.easyCommands.model.SenderType." + sub.senderType().name() + ", "
+                + stringArray(sub.completions()) + ", " + requiredArgs + ", "
+                + literal(guiIcon != null ? guiIcon.material() : "") + ", "
+                + (guiSlot != null ? guiSlot.row() : -1) + ", " + (guiSlot != null ? guiSlot.col() : -1) + ", "
+                + (method.getAnnotation(Async.class) != null) + ", "
+                + (cooldown != null ? cooldown.seconds() : 0) + ", " + literal(cooldown != null ? cooldown.bypassPermission() : "") + ", "
+                + stringArray(require != null ? require.value() : new String[0]) + ", "
+                + (confirm != null ? confirm.timeout() : 0) + ")";
+    }
+
+    private String tabSpec(ExecutableElement method, String[] path, String permission, int priority, boolean threadSafe) {
+        StringBuilder parameterTypes = new StringBuilder("new Class<?>[]{");
+        List<? extends VariableElement> params = method.getParameters();
+        for (int i = 0; i < params.size(); i++) {
+            if (i > 0) parameterTypes.append(", ");
+            parameterTypes.append(erasure(params.get(i).asType())).append(".class");
+        }
+        parameterTypes.append("}");
+        return "new TabSpec(" + stringArray(path) + ", " + literal(method.getSimpleName().toString()) + ", "
+                + invoker(method) + ", " + parameterTypes + ", " + literal(permission) + ", " + priority + ", " + threadSafe + ")";
+    }
+
+    private String parameterSpec(VariableElement param) {
+        Flag flag = param.getAnnotation(Flag.class);
+        Optional optional = param.getAnnotation(Optional.class);
+        Min min = param.getAnnotation(Min.class);
+        Max max = param.getAnnotation(Max.class);
+        Tab tab = param.getAnnotation(Tab.class);
+        AutoComplete autoComplete = param.getAnnotation(AutoComplete.class);
+        Choices choices = param.getAnnotation(Choices.class);
+        return "new ParameterSpec(" + erasure(param.asType()) + ".class, "
+                + literal(param.getSimpleName().toString()) + ", "
+                + (flag != null ? literal(flag.value()) : "null") + ", "
+                + (param.getAnnotation(Session.class) != null) + ", "
+                + (param.getAnnotation(Sender.class) != null) + ", "
+                + (optional != null ? literal(optional.value()) : "null") + ", "
+                + (min != null ? doubleLiteral(min.value()) : "Double.NaN") + ", "
+                + (max != null ? doubleLiteral(max.value()) : "Double.NaN") + ", "
+                + (tab != null ? literal(tab.value()) : "null") + ", "
+                + (autoComplete != null ? literal(autoComplete.value()) : "null") + ", "
+                + (choices != null ? stringArray(choices.value()) : "null") + ")";
+    }
+
+    /**
+     * A lambda calling the method directly with each argument cast to its erased type.
+     */
+    private String invoker(ExecutableElement method) {
+        StringBuilder call = new StringBuilder();
+        if (method.getModifiers().contains(Modifier.STATIC)) {
+            call.append(processingEnv.getTypeUtils().erasure(method.getEnclosingElement().asType()));
+        } else {
+            call.append("owner");
+        }
+        call.append('.').append(method.getSimpleName()).append('(');
+        List<? extends VariableElement> params = method.getParameters();
+        for (int i = 0; i < params.size(); i++) {
+            if (i > 0) call.append(", ");
+            call.append('(').append(erasure(params.get(i).asType())).append(") args[").append(i).append(']');
+        }
+        call.append(')');
+        if (method.getReturnType().getKind() == TypeKind.VOID) {
+            return "args -> { " + call + "; return null; }";
+        }
+        return "args -> " + call;
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private static String[] relativePath(String[] commandPath, String name) {
+        List<String> path = new ArrayList<>();
+        for (String part : commandPath) {
+            if (part != null && !part.isEmpty()) path.add(part);
+        }
+        if (name != null && !name.isEmpty()) path.add(name);
+        return path.toArray(new String[0]);
+    }
+
+    private static String stringArray(String[] values) {
+        StringBuilder builder = new StringBuilder("new String[]{");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) builder.append(", ");
+            builder.append(literal(values[i]));
+        }
+        return builder.append('}').toString();
+    }
+
+    private static String doubleLiteral(double value) {
+        if (Double.isNaN(value)) return "Double.NaN";
+        if (Double.isInfinite(value)) return value > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+        return value + "d";
+    }
+
+    private static String literal(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': builder.append("\\\""); break;
+                case '\\': builder.append("\\\\"); break;
+                case '\n': builder.append("\\n"); break;
+                case '\r': builder.append("\\r"); break;
+                case '\t': builder.append("\\t"); break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
@@ -1,11 +1,19 @@
 package com.dami.easyCommands;
 
 import com.dami.easyCommands.commands.AmazingBaseCommand;
+import com.dami.easyCommands.internal.CommandScanner;
+import com.dami.easyCommands.internal.CompiledNode;
+import com.dami.easyCommands.internal.RegistrationTiming;
+import com.dami.easyCommands.internal.TreeSnapshot;
 import com.dami.easyCommands.mocks.MockCommand;
 import com.dami.easyCommands.mocks.MockCommandSender;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class BaseCommandTest {
@@ -42,6 +50,13 @@ public class BaseCommandTest {
         assertTrue(sender.getMessages().contains("Subexample One Command Executed"));
     }
 
+    @Test
+    public void testCaseInsensitiveSubCommandExecution() {
+        command.onCommand(sender, bukkitCommand, "amazing", new String[]{"SubExample", "ONE"});
+        System.out.println("Messages: " + sender.getMessages());
+        assertTrue(sender.getMessages().contains("Subexample One Command Executed"));
+    }
+
     @Test
     public void testInvalidSubCommand() {
         boolean result = command.onCommand(sender, bukkitCommand, "amazing", new String[]{"nonexistent"});
@@ -56,4 +71,62 @@ public class BaseCommandTest {
         assertTrue(yaml.contains("subexample"));
         assertTrue(yaml.contains("subexample2"));
     }
+
+    @Test
+    public void testReloadPublishesNewSnapshot() {
+        TreeSnapshot before = command.getTree();
+        CompiledNode oldChild = before.getRoot().child("subexample");
+        command.initialize();
+        TreeSnapshot after = command.getTree();
+
+        assertNotSame(before, after);
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertSame(oldChild, before.getRoot().child("subexample"), "A published snapshot is never modified");
+        assertNotNull(after.getRoot().child("subexample"));
+    }
+
+    @Test
+    public void testFailedReloadKeepsTreeAndTimings() {
+        AtomicBoolean fail = new AtomicBoolean();
+        AmazingBaseCommand flaky = new AmazingBaseCommand() {
+            @Override
+            protected synchronized void merge(CommandScanner.Scan scan) {
+                if (fail.get()) {
+                    throw new IllegalStateException("broken module");
+                }
+                super.merge(scan);
+            }
+        };
+        List<RegistrationTiming> timings = flaky.getRegistrationTimings();
+        TreeSnapshot before = flaky.getTree();
+        assertFalse(timings.isEmpty());
+
+        fail.set(true);
+        assertThrows(IllegalStateException.class, flaky::initialize);
+        assertSame(before, flaky.getTree(), "A failed rebuild should not publish anything");
+        assertEquals(timings, flaky.getRegistrationTimings(), "The timings should still describe the published tree");
+    }
+
+    @Test
+    public void testCompletionDuringReload() throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                for (int i = 0; i < 2000; i++) {
+                    List<String> result = command.onTabComplete(sender, bukkitCommand, "amazing", new String[]{"subexample", ""});
+                    if (result == null || !result.contains("one")) {
+                        throw new AssertionError("Saw an incomplete tree: " + result);
+                    }
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 200; i++) {
+            command.initialize();
+        }
+        reader.join();
+        assertNull(failure.get());
+    }
 }
@@ -0,0 +1,93 @@
+package com.dami.easyCommands;
+
+import com.dami.easyCommands.commands.AmazingBaseCommand;
+import com.dami.easyCommands.internal.BrigadierTree;
+import com.dami.easyCommands.mocks.MockCommandSender;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BrigadierTreeTest {
+
+    @Test
+    public void testLiteralsMirrorSubCommands() {
+        LiteralCommandNode<CommandSourceStack> root = BrigadierTree.build(new AmazingBaseCommand());
+
+        assertEquals("amazing", root.getLiteral());
+        assertNotNull(root.getCommand());
+        assertNotNull(root.getChild("subexample"));
+        assertNotNull(root.getChild("subexample2"));
+        assertNotNull(root.getChild("testcompletions"));
+        assertNotNull(root.getChild("help"));
+        assertNotNull(root.getChild("subexample").getChild("one"));
+        assertNotNull(root.getChild("subexample").getChild("two"));
+    }
+
+    @Test
+    public void testArgumentsFollowParameters() {
+        LiteralCommandNode<CommandSourceStack> root = BrigadierTree.build(new AmazingBaseCommand());
+
+        // A @SubCommandTab method decides its own suggestions, so the node takes the rest of the line
+        CommandNode<CommandSourceStack> greedy = root.getChild("subexample").getChild("args");
+        assertInstanceOf(ArgumentCommandNode.class, greedy);
+        assertNotNull(greedy.getCommand());
+
+        // A String parameter becomes a greedy tail, Brigadier's word argument is too strict for it
+        CommandNode<CommandSourceStack> testCompletions = root.getChild("testcompletions");
+        assertEquals(1, testCompletions.getChildren().size());
+        CommandNode<CommandSourceStack> argument = testCompletions.getChildren().iterator().next();
+        assertInstanceOf(ArgumentCommandNode.class, argument);
+        assertTrue(argument.getChildren().isEmpty());
+    }
+
+    private CommandSourceStack source(MockCommandSender sender) {
+        return (CommandSourceStack) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{CommandSourceStack.class}, (proxy, method, args) -> method.getName().equals("getSender") ? sender : null);
+    }
+
+    @Test
+    public void testStringArgumentAcceptsNamespacedValue() {
+        CommandDispatcher<CommandSourceStack> dispatcher = new CommandDispatcher<>();
+        dispatcher.getRoot().addChild(BrigadierTree.build(new AmazingBaseCommand()));
+        CommandSourceStack source = source(new MockCommandSender());
+
+        ParseResults<CommandSourceStack> parse = dispatcher.parse("amazing testcompletions minecraft:stone", source);
+        assertTrue(parse.getExceptions().isEmpty(), parse.getExceptions().toString());
+        assertFalse(parse.getReader().canRead(), "The whole line should be consumed");
+        assertNotNull(parse.getContext().getCommand());
+    }
+
+    @Test
+    public void testUnknownTokenReachesOnCommand() throws Exception {
+        CommandDispatcher<CommandSourceStack> dispatcher = new CommandDispatcher<>();
+        dispatcher.getRoot().addChild(BrigadierTree.build(new AmazingBaseCommand()));
+        MockCommandSender sender = new MockCommandSender();
+
+        // No literal matches, so the fallback argument takes the line and onCommand answers it
+        ParseResults<CommandSourceStack> parse = dispatcher.parse("amazing subexampel", source(sender));
+        assertTrue(parse.getExceptions().isEmpty(), parse.getExceptions().toString());
+        assertNotNull(parse.getContext().getCommand());
+        dispatcher.execute(parse);
+        assertFalse(sender.getMessages().isEmpty());
+    }
+
+    @Test
+    public void testRemovedSubCommandIsHidden() {
+        AmazingBaseCommand command = new AmazingBaseCommand();
+        LiteralCommandNode<CommandSourceStack> root = BrigadierTree.build(command);
+        CommandSourceStack source = source(new MockCommandSender());
+        assertTrue(root.getChild("testcompletions").canUse(source));
+
+        command.removeCommand("testcompletions");
+        assertFalse(root.getChild("testcompletions").canUse(source), "The literal should follow the current tree");
+        assertTrue(root.getChild("subexample").canUse(source));
+    }
+}
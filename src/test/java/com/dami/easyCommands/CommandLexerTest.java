@@ -0,0 +1,81 @@
+package com.dami.easyCommands;
+
+import com.dami.easyCommands.annotations.Flag;
+import com.dami.easyCommands.internal.CommandLexer;
+import com.dami.easyCommands.internal.ParameterResolver;
+import com.dami.easyCommands.mocks.MockCommandSender;
+import com.dami.easyCommands.model.MessageKey;
+import com.dami.easyCommands.model.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandLexerTest {
+
+    @Test
+    public void testPlainArgumentsAreNotCopied() {
+        String[] args = {"give", "Dami", "64"};
+        CommandLexer lexer = CommandLexer.of(args);
+        assertEquals(3, lexer.size());
+        assertSame(args, lexer.getTokens(), "Unquoted input should be used as-is");
+        assertEquals(0, lexer.offset(0));
+        assertEquals(5, lexer.offset(1));
+        assertEquals(10, lexer.offset(2));
+    }
+
+    @Test
+    public void testQuotedSpansAreJoined() {
+        CommandLexer lexer = CommandLexer.of(new String[]{"say", "\"hello", "", "world\"", "\"x\"", "end"});
+        assertEquals(4, lexer.size());
+        assertEquals("hello  world", lexer.token(1));
+        assertEquals(CommandLexer.QUOTED, lexer.kind(1));
+        assertEquals("x", lexer.token(2));
+        assertEquals("end", lexer.token(3));
+        assertEquals(4, lexer.offset(1));
+        assertEquals(19, lexer.offset(2));
+        assertEquals(23, lexer.offset(3));
+    }
+
+    @Test
+    public void testUnterminatedQuoteRunsToTheEnd() {
+        CommandLexer lexer = CommandLexer.of(new String[]{"\"open", "quote"});
+        assertEquals(1, lexer.size());
+        assertEquals("open quote", lexer.token(0));
+    }
+
+    @Test
+    public void testFlagClassification() {
+        assertEquals(CommandLexer.SHORT_FLAG, CommandLexer.classify("-s"));
+        assertEquals(CommandLexer.SHORT_FLAG, CommandLexer.classify("-abc"));
+        assertEquals(CommandLexer.SHORT_FLAG, CommandLexer.classify("-r=5"));
+        assertEquals(CommandLexer.LONG_FLAG, CommandLexer.classify("--silent"));
+        assertEquals(CommandLexer.WORD, CommandLexer.classify("-5"));
+        assertEquals(CommandLexer.WORD, CommandLexer.classify("-.5"));
+        assertEquals(CommandLexer.WORD, CommandLexer.classify("-"));
+        assertEquals(CommandLexer.WORD, CommandLexer.classify("--"));
+        assertEquals(CommandLexer.WORD, CommandLexer.classify("word"));
+        assertEquals("5", CommandLexer.flagValue("-r=5"));
+        assertNull(CommandLexer.flagValue("--silent"));
+    }
+
+    public static void scan(@Flag("-r") int radius, @Flag("-n") Integer limit, @Flag("-s") boolean silent) {
+    }
+
+    @Test
+    public void testMissingPrimitiveFlagIsUsageError() throws Exception {
+        Method scan = CommandLexerTest.class.getMethod("scan", int.class, Integer.class, boolean.class);
+        MockCommandSender sender = new MockCommandSender();
+
+        Object[] args = ParameterResolver.resolveParameters(scan, sender, new String[]{"-r=5", "-s"});
+        assertEquals(5, args[0]);
+        assertNull(args[1], "An absent boxed flag stays null");
+        assertEquals(true, args[2]);
+
+        ValidationException missing = assertThrows(ValidationException.class,
+                () -> ParameterResolver.resolveParameters(scan, sender, new String[]{"-s"}));
+        assertEquals(MessageKey.INVALID_USAGE, missing.getMessageKey());
+        assertEquals("-r", missing.getPlaceholders().get("flag"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.dami.easyCommands;
+
+import com.dami.easyCommands.internal.CooldownManager;
+import com.dami.easyCommands.internal.CooldownTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CooldownTableTest {
+
+    private long now = 1_000_000;
+    private final CooldownTable table = new CooldownTable(() -> now);
+
+    @Test
+    public void testAcquireIsCheckAndSet() {
+        UUID player = UUID.randomUUID();
+        assertEquals(0, table.acquire(1, player, 5000));
+        now += 2000;
+        assertEquals(3000, table.acquire(1, player, 5000), "A running cooldown should not be restarted");
+        assertEquals(0, table.acquire(2, player, 5000), "Other commands have their own cooldown");
+        assertEquals(0, table.acquire(1, UUID.randomUUID(), 5000), "Other players have their own cooldown");
+
+        now += 3000;
+        assertEquals(0, table.remainingMillis(1, player));
+        assertEquals(0, table.acquire(1, player, 5000));
+    }
+
+    @Test
+    public void testSetAndClear() {
+        UUID player = UUID.randomUUID();
+        table.set(7, player, 10_000);
+        assertEquals(10_000, table.remainingMillis(7, player));
+        table.set(7, player, 0);
+        assertEquals(0, table.remainingMillis(7, player));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void testExpiredEntriesAreReclaimed() {
+        for (int i = 0; i < 10_000; i++) {
+            table.set(i % 5, UUID.randomUUID(), 1000 + (i % 30) * 1000L);
+        }
+        assertEquals(10_000, table.size());
+
+        now += 15_000;
+        table.remainingMillis(0, UUID.randomUUID());
+        int left = table.size();
+        assertTrue(left > 0 && left < 10_000, "Only the cooldowns that ran out should be gone, " + left + " left");
+
+        now += 20_000;
+        table.remainingMillis(0, UUID.randomUUID());
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void testCooldownLongerThanTheWheel() {
+        UUID player = UUID.randomUUID();
+        table.set(1, player, 3_600_000);
+        for (int i = 0; i < 30; i++) {
+            now += 60_000;
+            table.remainingMillis(2, player);
+        }
+        assertEquals(1_800_000, table.remainingMillis(1, player));
+        now += 1_800_000;
+        assertEquals(0, table.remainingMillis(1, player));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void testCommandIdFollowsCanonicalPath() {
+        int id = CooldownManager.commandId(new String[]{"kit", "daily"});
+        assertEquals(id, CooldownManager.commandId(new String[]{"kit", "daily"}), "A rebuilt command should keep its cooldowns");
+        assertEquals(id, CooldownManager.commandId(new String[]{"Kit", "DAILY"}));
+        assertNotEquals(id, CooldownManager.commandId(new String[]{"kit"}));
+    }
+}
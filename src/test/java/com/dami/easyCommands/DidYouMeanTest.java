@@ -0,0 +1,134 @@
+package com.dami.easyCommands;
+
+import com.dami.easyCommands.commands.AmazingBaseCommand;
+import com.dami.easyCommands.internal.CommandNode;
+import com.dami.easyCommands.internal.CompiledNode;
+import com.dami.easyCommands.internal.SubCommandInfo;
+import com.dami.easyCommands.mocks.MockCommand;
+import com.dami.easyCommands.mocks.MockCommandSender;
+import com.dami.easyCommands.model.SenderType;
+import com.dami.easyCommands.util.StringUtil;
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DidYouMeanTest {
+
+    private static final String HIDDEN = "test.hidden";
+
+    public void run(CommandSender sender) {
+    }
+
+    private SubCommandInfo command(String permission) throws Exception {
+        return new SubCommandInfo(getClass().getMethod("run", CommandSender.class), this, 0, permission, 0,
+                new String[0], "", "", SenderType.ANY, new String[0]);
+    }
+
+    // Keys starting with '!' need a permission the sender does not have
+    private CompiledNode tree(String... keys) throws Exception {
+        SubCommandInfo open = command("");
+        SubCommandInfo hidden = command(HIDDEN);
+        Map<String, CommandNode> nodes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String key : keys) {
+            boolean restricted = key.startsWith("!");
+            CommandNode node = new CommandNode();
+            node.insertCommand(new String[0], restricted ? hidden : open);
+            nodes.put(restricted ? key.substring(1) : key, node);
+        }
+        return CompiledNode.compile(nodes);
+    }
+
+    // What the index replaces: compare against every accessible key, keeping the first of equally close ones
+    private static String exhaustive(CompiledNode node, String input, CommandSender sender) {
+        String best = null;
+        int bestDistance = 3;
+        for (int i = 0; i < node.size(); i++) {
+            String key = node.keyAt(i);
+            if (key.equals(CompiledNode.WILDCARD) || !node.childAt(i).isAccessible(sender)) continue;
+            int distance = StringUtil.levenshteinDistance(input, key);
+            if (distance < bestDistance) {
+                best = key;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    @Test
+    public void testSuggestion() throws Exception {
+        CompiledNode root = tree("give", "help", "*", "reload", "!secret");
+        MockCommandSender sender = new MockCommandSender();
+        assertEquals("help", root.findSuggestion("hlep", sender));
+        assertEquals("reload", root.findSuggestion("RELAOD", sender), "Case should be folded");
+        assertNull(root.findSuggestion("teleport", sender));
+        assertNull(root.findSuggestion("*", sender), "The wildcard is not a suggestion");
+        assertNull(root.findSuggestion("secert", sender), "Commands the sender cannot use are not suggested");
+
+        sender.addPermission(HIDDEN);
+        assertEquals("secret", root.findSuggestion("secert", sender));
+    }
+
+    @Test
+    public void testTiesGoToTheFirstKey() throws Exception {
+        MockCommandSender sender = new MockCommandSender();
+        assertEquals("bat", tree("cat", "bat", "hit").findSuggestion("hat", sender));
+        assertEquals("cat", tree("cat", "!bat", "hit").findSuggestion("hat", sender), "The next of the tied keys when the first is hidden");
+        assertEquals("hit", tree("cat", "bat", "hit").findSuggestion("hot", sender), "A closer key beats an earlier one");
+    }
+
+    @Test
+    public void testSuggestionMatchesExhaustiveScan() throws Exception {
+        Random random = new Random(7);
+        MockCommandSender sender = new MockCommandSender();
+        for (int round = 0; round < 200; round++) {
+            Set<String> seen = new HashSet<>();
+            List<String> keys = new ArrayList<>();
+            for (int k = random.nextInt(12); k >= 0; k--) {
+                String key = randomString(random, 1 + random.nextInt(6));
+                if (seen.add(key.toLowerCase())) {
+                    keys.add(random.nextInt(4) == 0 ? "!" + key : key);
+                }
+            }
+            if (random.nextInt(4) == 0) {
+                keys.add("*");
+            }
+            CompiledNode root = tree(keys.toArray(new String[0]));
+            for (int query = 0; query < 20; query++) {
+                String input = random.nextBoolean() ? mutate(random, root.keyAt(random.nextInt(root.size()))) : randomString(random, random.nextInt(8));
+                assertEquals(exhaustive(root, input, sender), root.findSuggestion(input, sender), "'" + input + "' in " + keys);
+            }
+        }
+    }
+
+    @Test
+    public void testMistypedSubCommandIsSuggested() {
+        MockCommandSender sender = new MockCommandSender();
+        new AmazingBaseCommand().onCommand(sender, new MockCommand("amazing"), "amazing", new String[]{"subexampel"});
+        assertTrue(sender.getMessages().stream().anyMatch(message -> message.contains("/amazing subexample?")), sender.getMessages().toString());
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append("abcAB".charAt(random.nextInt(5)));
+        }
+        return builder.toString();
+    }
+
+    private static String mutate(Random random, String s) {
+        StringBuilder builder = new StringBuilder(s);
+        for (int edits = random.nextInt(4); edits > 0; edits--) {
+            int position = random.nextInt(builder.length() + 1);
+            char c = "abcAB".charAt(random.nextInt(5));
+            switch (builder.length() == 0 || position == builder.length() ? 0 : random.nextInt(3)) {
+                case 0 -> builder.insert(position, c);
+                case 1 -> builder.deleteCharAt(position);
+                default -> builder.setCharAt(position, c);
+            }
+        }
+        return builder.toString();
+    }
+}
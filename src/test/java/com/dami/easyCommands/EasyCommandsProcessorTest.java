@@ -0,0 +1,214 @@
+package com.dami.easyCommands;
+
+import com.dami.easyCommands.core.DispatcherRegistry;
+import com.dami.easyCommands.core.ICommand;
+import com.dami.easyCommands.core.ShardableCommand;
+import com.dami.easyCommands.mocks.MockCommand;
+import com.dami.easyCommands.mocks.MockCommandSender;
+import com.dami.easyCommands.processor.EasyCommandsProcessor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.processing.Processor;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiles a sample command class with and without the processor and checks that the generated
+ * dispatcher runs every command the same way as the reflection path.
+ */
+public class EasyCommandsProcessorTest {
+
+    private static final String SAMPLE = String.join("\n",
+            "package sample;",
+            "",
+            "import com.dami.easyCommands.annotations.*;",
+            "import com.dami.easyCommands.core.ICommand;",
+            "import com.dami.easyCommands.core.ShardableCommand;",
+            "import org.bukkit.command.CommandSender;",
+            "import java.util.List;",
+            "",
+            "public class SampleCommand extends ShardableCommand {",
+            "    @Override",
+            "    public String getName() {",
+            "        return \"sample\";",
+            "    }",
+            "",
+            "    @SubCommand(commandPath = {}, name = \"add\")",
+            "    public void add(CommandSender sender, @Min(1) @Max(10) int a, double b) {",
+            "        sender.sendMessage(\"add \" + (a + b));",
+            "    }",
+            "",
+            "    @SubCommand(commandPath = {}, name = \"mode\", aliases = {\"m\"})",
+            "    public void mode(CommandSender sender, @Choices({\"On\", \"off\"}) String value) {",
+            "        sender.sendMessage(\"mode \" + value);",
+            "    }",
+            "",
+            "    @SubCommand(commandPath = {}, name = \"list\")",
+            "    public void list(CommandSender sender, String... items) {",
+            "        sender.sendMessage(\"list \" + String.join(\",\", items));",
+            "    }",
+            "",
+            "    @SubCommand(commandPath = {}, name = \"stat\")",
+            "    public static void stat(CommandSender sender) {",
+            "        sender.sendMessage(\"stat\");",
+            "    }",
+            "",
+            "    @SubCommand(commandPath = {\"nested\"}, name = \"inner\")",
+            "    public static class Inner implements ICommand {",
+            "        @Override",
+            "        public String getName() {",
+            "            return \"inner\";",
+            "        }",
+            "",
+            "        @Override",
+            "        public void mainCommand(CommandSender sender, String[] args) {",
+            "            sender.sendMessage(\"inner \" + args.length);",
+            "        }",
+            "",
+            "        @Override",
+            "        public List<String> tabComplete(CommandSender sender, String[] args) {",
+            "            return List.of(\"x\");",
+            "        }",
+            "",
+            "        @SubCommand(commandPath = {}, name = \"deep\")",
+            "        public void deep(CommandSender sender, long n) {",
+            "            sender.sendMessage(\"deep \" + (n * 2));",
+            "        }",
+            "    }",
+            "}",
+            "");
+
+    private static final String[][] LINES = {
+            {"add", "3", "1.5"},
+            {"add", "11", "1"},
+            {"add", "x", "1"},
+            {"mode", "ON"},
+            {"m", "off"},
+            {"mode", "maybe"},
+            {"list", "a", "b", "c"},
+            {"stat"},
+            {"nested", "inner"},
+            {"nested", "inner", "deep", "21"},
+    };
+
+    // What the processor jar ships, as listed in the pom's processor execution
+    private static final List<String> PROCESSOR_JAR = List.of(
+            "com/dami/easyCommands/processor/",
+            "com/dami/easyCommands/annotations/",
+            "com/dami/easyCommands/model/SenderType");
+
+    @TempDir
+    static Path temp;
+
+    private static Path source;
+
+    private static Path generated;
+    private static Path reflected;
+
+    @BeforeAll
+    public static void compileSample() throws IOException {
+        source = temp.resolve("src/sample/SampleCommand.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, SAMPLE);
+        generated = compile("generated", new EasyCommandsProcessor());
+        reflected = compile("reflected", null);
+    }
+
+    private static Path compile(String name, Processor processor) throws IOException {
+        boolean process = processor != null;
+        Path output = Files.createDirectories(temp.resolve(name));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull(compiler, "Tests need a JDK");
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, null)) {
+            List<String> options = new ArrayList<>(List.of("-parameters", "-d", output.toString(),
+                    "-classpath", System.getProperty("java.class.path")));
+            if (!process) {
+                options.add("-proc:none");
+            }
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, null, options, null,
+                    files.getJavaFileObjects(source));
+            if (process) {
+                task.setProcessors(List.of(processor));
+            }
+            assertTrue(task.call(), "The sample" + (process ? " and its dispatchers" : "") + " should compile");
+        }
+        return output;
+    }
+
+    /**
+     * Copies the classes the processor jar ships and loads the processor from them alone, the way
+     * a build that only has the processor jar on its processor path would.
+     */
+    private static Processor packagedProcessor() throws Exception {
+        Path classes = Path.of(EasyCommandsProcessor.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Path jar = Files.createDirectories(temp.resolve("processor-jar"));
+        try (Stream<Path> files = Files.walk(classes)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                String name = classes.relativize(file).toString().replace('\\', '/');
+                if (PROCESSOR_JAR.stream().anyMatch(name::startsWith)) {
+                    Path target = jar.resolve(name);
+                    Files.createDirectories(target.getParent());
+                    Files.copy(file, target);
+                }
+            }
+        }
+        URLClassLoader loader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, ClassLoader.getPlatformClassLoader());
+        return (Processor) loader.loadClass(EasyCommandsProcessor.class.getName()).getDeclaredConstructor().newInstance();
+    }
+
+    // Each compilation gets its own loader, so both versions of the sample can be loaded side by side
+    private static ShardableCommand load(Path classes) throws Exception {
+        URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, EasyCommandsProcessorTest.class.getClassLoader());
+        ShardableCommand command = (ShardableCommand) loader.loadClass("sample.SampleCommand").getDeclaredConstructor().newInstance();
+        command.RegisterSubCommandClass((ICommand) loader.loadClass("sample.SampleCommand$Inner").getDeclaredConstructor().newInstance());
+        return command;
+    }
+
+    private static List<String> run(ShardableCommand command) {
+        MockCommandSender sender = new MockCommandSender();
+        MockCommand bukkitCommand = new MockCommand("sample");
+        for (String[] line : LINES) {
+            command.onCommand(sender, bukkitCommand, "sample", line);
+        }
+        return sender.getMessages();
+    }
+
+    @Test
+    public void testDispatchersAreGenerated() {
+        assertTrue(Files.exists(generated.resolve("sample/SampleCommand_EasyCommandsDispatcher.class")));
+        assertTrue(Files.exists(generated.resolve("sample/SampleCommand_Inner_EasyCommandsDispatcher.class")), "Nested classes get their own dispatcher");
+        assertFalse(Files.exists(reflected.resolve("sample/SampleCommand_EasyCommandsDispatcher.class")));
+    }
+
+    @Test
+    public void testProcessorJarIsSelfContained() throws Exception {
+        Path packaged = compile("packaged", packagedProcessor());
+        assertTrue(Files.exists(packaged.resolve("sample/SampleCommand_EasyCommandsDispatcher.class")),
+                "The processor should run with only its own jar on the processor path");
+    }
+
+    @Test
+    public void testGeneratedDispatchMatchesReflection() throws Exception {
+        ShardableCommand withDispatcher = load(generated);
+        ShardableCommand withReflection = load(reflected);
+        assertNotNull(DispatcherRegistry.get(withDispatcher.getClass()));
+        assertNull(DispatcherRegistry.get(withReflection.getClass()));
+
+        List<String> expected = run(withReflection);
+        assertEquals(expected, run(withDispatcher));
+        assertTrue(expected.containsAll(List.of("add 4.5", "mode On", "mode off", "list a,b,c", "stat", "inner 0", "deep 42")), expected.toString());
+    }
+}
@@ -0,0 +1,56 @@
+package com.dami.easyCommands;
+
+import com.dami.easyCommands.commands.PermissionTestCommand;
+import com.dami.easyCommands.internal.CommandNode;
+import com.dami.easyCommands.internal.HelpIndex;
+import com.dami.easyCommands.internal.PermissionCache;
+import com.dami.easyCommands.mocks.MockCommandSender;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HelpIndexTest {
+
+    private static List<String> paths(HelpIndex index, MockCommandSender sender) {
+        List<String> paths = new ArrayList<>();
+        for (CommandNode.HelpEntry entry : index.visibleEntries(PermissionCache.snapshot(sender))) {
+            paths.add(entry.path);
+        }
+        return paths;
+    }
+
+    @Test
+    public void testVisibleEntriesFollowPermissions() {
+        HelpIndex index = HelpIndex.ofRoot(new PermissionTestCommand().getCompiledRoot());
+        MockCommandSender sender = new MockCommandSender();
+
+        assertEquals(3, index.size());
+        assertEquals(List.of("public"), paths(index, sender));
+
+        sender.addPermission("test.deep");
+        assertEquals(List.of("public", "secret deep"), paths(index, sender));
+
+        sender.addPermission("test.secret");
+        assertEquals(List.of("public", "secret", "secret deep"), paths(index, sender), "Buckets should merge back into tree order");
+    }
+
+    @Test
+    public void testVisibleEntriesMatchCollectHelp() {
+        PermissionTestCommand command = new PermissionTestCommand();
+        MockCommandSender sender = new MockCommandSender();
+        sender.addPermission("test.secret");
+
+        List<CommandNode.HelpEntry> collected = new ArrayList<>();
+        command.getCompiledRoot().child("secret").collectHelp(sender, "secret", collected);
+
+        List<CommandNode.HelpEntry> indexed = HelpIndex.of(command.getCompiledRoot().child("secret"), "secret")
+                .visibleEntries(PermissionCache.snapshot(sender));
+        assertEquals(collected.size(), indexed.size());
+        for (int i = 0; i < collected.size(); i++) {
+            assertEquals(collected.get(i).path, indexed.get(i).path);
+        }
+    }
+}
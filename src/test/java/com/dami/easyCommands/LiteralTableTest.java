@@ -0,0 +1,68 @@
+package com.dami.easyCommands;
+
+import com.dami.easyCommands.annotations.Choices;
+import com.dami.easyCommands.internal.CompletionResolver;
+import com.dami.easyCommands.internal.LiteralTable;
+import com.dami.easyCommands.internal.ParameterResolver;
+import com.dami.easyCommands.mocks.MockCommandSender;
+import com.dami.easyCommands.model.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LiteralTableTest {
+
+    private enum Mode { SURVIVAL, CREATIVE, ADVENTURE, SPECTATOR }
+
+    @SuppressWarnings("unused")
+    public void setMode(Mode mode, @Choices({"On", "off"}) String toggle) {
+    }
+
+    private static Method method() throws NoSuchMethodException {
+        return LiteralTableTest.class.getMethod("setMode", Mode.class, String.class);
+    }
+
+    @Test
+    public void testEnumLookup() {
+        LiteralTable<Mode> table = LiteralTable.ofEnum(Mode.class);
+        assertSame(table, LiteralTable.ofEnum(Mode.class), "The table should be built once per enum");
+        assertEquals(Mode.CREATIVE, table.get("creative"));
+        assertEquals(Mode.CREATIVE, table.get("CrEaTiVe"));
+        assertNull(table.get("creativ"));
+        assertNull(table.get(""));
+        assertEquals(Mode.ADVENTURE, table.get("mc:adventure", 3));
+        assertEquals(List.of("survival", "creative", "adventure", "spectator"), table.names());
+        assertEquals(List.of("spectator", "survival"), table.completions().complete("S"));
+    }
+
+    @Test
+    public void testChoicesKeepDeclaredSpelling() {
+        LiteralTable<String> table = LiteralTable.ofChoices("On", "off", "ON");
+        assertEquals("On", table.get("on"));
+        assertEquals("off", table.get("OFF"));
+        assertNull(table.get("of"));
+        assertEquals(List.of("On", "off"), table.names(), "Duplicates should keep the first spelling");
+    }
+
+    @Test
+    public void testParameterResolution() throws Exception {
+        MockCommandSender sender = new MockCommandSender();
+        Object[] args = ParameterResolver.resolveParameters(method(), sender, new String[]{"Adventure", "ON"});
+        assertEquals(Mode.ADVENTURE, args[0]);
+        assertEquals("On", args[1]);
+        assertThrows(ValidationException.class,
+                () -> ParameterResolver.resolveParameters(method(), sender, new String[]{"hardcore", "on"}));
+        assertThrows(ValidationException.class,
+                () -> ParameterResolver.resolveParameters(method(), sender, new String[]{"creative", "maybe"}));
+    }
+
+    @Test
+    public void testCompletionSharesTheTable() throws Exception {
+        MockCommandSender sender = new MockCommandSender();
+        assertEquals(List.of("creative"), CompletionResolver.resolve(method(), sender, new String[]{"c"}, null, null));
+        assertEquals(List.of("off", "On"), CompletionResolver.resolve(method(), sender, new String[]{"creative", "o"}, null, null));
+    }
+}
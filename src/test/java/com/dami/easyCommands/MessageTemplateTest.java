@@ -0,0 +1,74 @@
+package com.dami.easyCommands;
+
+import com.dami.easyCommands.core.MessageTemplate;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessageTemplateTest {
+
+    private static String plain(Component component) {
+        return PlainTextComponentSerializer.plainText().serialize(component);
+    }
+
+    private static String reference(String raw, Map<String, String> placeholders) {
+        TagResolver.Builder builder = TagResolver.builder();
+        placeholders.forEach((key, value) -> builder.resolver(Placeholder.parsed(key, value)));
+        return plain(MiniMessage.miniMessage().deserialize(raw, builder.build()));
+    }
+
+    @Test
+    public void testSlotsAreFound() {
+        MessageTemplate template = MessageTemplate.compile("<red>Invalid argument '<arg>' for parameter '<param>'.</red>");
+        assertArrayEquals(new String[]{"arg", "param"}, template.getSlotNames());
+    }
+
+    @Test
+    public void testRenderMatchesParsedPlaceholders() {
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("command", "test");
+        placeholders.put("sub", "<green>give</green>");
+        placeholders.put("description", "Gives items");
+
+        String raw = "<yellow>/<command> <sub> <gray>- <description></gray>";
+        MessageTemplate template = MessageTemplate.compile(raw);
+        assertEquals(reference(raw, placeholders), plain(template.render(placeholders)));
+        assertEquals("/test give - Gives items", plain(template.render(placeholders)));
+    }
+
+    @Test
+    public void testPlaceholderInsideTagArgument() {
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("command", "test");
+        placeholders.put("page", "1");
+        placeholders.put("max_page", "3");
+        placeholders.put("next_page", "2");
+
+        String raw = "<gold>--- Page <page>/<max_page> ---</gold> <click:run_command:/<command> help <next_page>><yellow>[Next ></yellow></click>";
+        assertEquals(reference(raw, placeholders), plain(MessageTemplate.compile(raw).render(placeholders)));
+    }
+
+    @Test
+    public void testMissingPlaceholderStaysLiteral() {
+        MessageTemplate template = MessageTemplate.compile("<red>No command found. Try /<command> help</red>");
+        assertEquals("No command found. Try /<command> help", plain(template.render(null)));
+    }
+
+    @Test
+    public void testSlotNextToTextOfTheSameStyle() {
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("command", "test");
+
+        for (String raw : new String[]{"<red>Unknown command <command>", "<command> usage", "Try /<command> help"}) {
+            assertEquals(reference(raw, placeholders), plain(MessageTemplate.compile(raw).render(placeholders)), raw);
+        }
+    }
+}
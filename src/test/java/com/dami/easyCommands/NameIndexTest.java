@@ -0,0 +1,65 @@
+package com.dami.easyCommands;
+
+import com.dami.easyCommands.internal.NameIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NameIndexTest {
+
+    private static NameIndex<String> seeded(String... names) {
+        NameIndex<String> index = new NameIndex<>(List::of, Function.identity());
+        index.seed(List.of(names));
+        return index;
+    }
+
+    @Test
+    public void testLookupIgnoresCase() {
+        NameIndex<String> index = seeded("Notch", "jeb_", "Dinnerbone");
+        assertEquals("Notch", index.get("notch"));
+        assertNull(index.get("not"));
+        assertEquals(List.of("Dinnerbone", "jeb_", "Notch"), index.names());
+        assertEquals(List.of("jeb_"), index.complete("JE"));
+    }
+
+    @Test
+    public void testFindPrefersExactThenShortest() {
+        NameIndex<String> index = seeded("Steve", "Steven", "Stevenson", "Alex");
+        assertEquals("Steve", index.find("steve"));
+        assertEquals("Steven", index.find("steven"));
+        assertEquals("Steve", index.find("st"));
+        assertNull(index.find("x"));
+    }
+
+    @Test
+    public void testJoinAndQuitKeepOrder() {
+        NameIndex<String> index = seeded("b", "d");
+        index.put("C");
+        index.put("a");
+        index.put("e");
+        assertEquals(List.of("a", "b", "C", "d", "e"), index.names());
+        index.remove("c");
+        index.remove("A");
+        index.remove("missing");
+        assertEquals(List.of("b", "d", "e"), index.names());
+    }
+
+    @Test
+    public void testFallbackUntilSeeded() {
+        List<String> online = new ArrayList<>(List.of("Notch", "Nobody"));
+        NameIndex<String> index = new NameIndex<>(() -> online, Function.identity());
+        assertFalse(index.isLive());
+        assertEquals("Notch", index.get("NOTCH"));
+        assertEquals(2, index.complete("no").size());
+
+        online.add("Alex");
+        assertEquals("Alex", index.find("al"));
+        index.seed(online);
+        assertTrue(index.isLive());
+        assertEquals(List.of("Alex", "Nobody", "Notch"), index.names());
+    }
+}
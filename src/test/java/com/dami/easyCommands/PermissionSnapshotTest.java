@@ -0,0 +1,49 @@
+package com.dami.easyCommands;
+
+import com.dami.easyCommands.internal.PermissionCache;
+import com.dami.easyCommands.internal.PermissionSnapshot;
+import com.dami.easyCommands.mocks.MockCommandSender;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PermissionSnapshotTest {
+
+    @Test
+    public void testIdsAreStable() {
+        int id = PermissionSnapshot.idOf("snapshot.test.stable");
+        assertEquals(id, PermissionSnapshot.idOf("snapshot.test.stable"));
+        assertEquals("snapshot.test.stable", PermissionSnapshot.nameOf(id));
+        assertEquals(PermissionSnapshot.NONE, PermissionSnapshot.idOf(""));
+    }
+
+    @Test
+    public void testSnapshotRemembersAnswers() {
+        MockCommandSender sender = new MockCommandSender();
+        sender.addPermission("snapshot.test.granted");
+
+        PermissionSnapshot snapshot = PermissionCache.snapshot(sender);
+        assertTrue(snapshot.has("snapshot.test.granted"));
+        assertFalse(snapshot.has("snapshot.test.denied"));
+        assertTrue(snapshot.has(PermissionSnapshot.NONE));
+
+        sender.clearPermissions();
+        assertTrue(snapshot.has("snapshot.test.granted"), "Answers should come from the snapshot");
+        assertFalse(PermissionCache.snapshot(sender).has("snapshot.test.granted"), "Non-player senders get a fresh snapshot per call");
+    }
+
+    @Test
+    public void testManyPermissions() {
+        MockCommandSender sender = new MockCommandSender();
+        for (int i = 0; i < 200; i += 2) {
+            sender.addPermission("snapshot.test.many." + i);
+        }
+        PermissionSnapshot snapshot = PermissionCache.snapshot(sender);
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i % 2 == 0, snapshot.has("snapshot.test.many." + i));
+        }
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i % 2 == 0, snapshot.has("snapshot.test.many." + i));
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.dami.easyCommands;
 
 import com.dami.easyCommands.commands.PermissionTestCommand;
+import com.dami.easyCommands.internal.CompiledNode;
+import com.dami.easyCommands.internal.PermissionSnapshot;
 import com.dami.easyCommands.mocks.MockCommand;
 import com.dami.easyCommands.mocks.MockCommandSender;
 import org.junit.jupiter.api.BeforeEach;
@@ -57,7 +59,21 @@ public class PermissionTabCompletionTest {
         // THIS IS THE BUG: It should NOT contain 'deep' if the player doesn't have 'test.deep'
         assertFalse(suggestions.contains("deep"), "Should NOT show deep command without permission");
     }
-}
 
+    @Test
+    public void testSubtreePermissionSummaries() {
+        CompiledNode root = command.getCompiledRoot();
+        assertTrue(root.hasUnrestrictedLeaf(), "Root contains the public command");
 
+        CompiledNode secret = root.child("secret");
+        assertFalse(secret.hasUnrestrictedLeaf());
+        int[] expected = java.util.stream.IntStream.of(PermissionSnapshot.idOf("test.secret"), PermissionSnapshot.idOf("test.deep")).sorted().toArray();
+        assertArrayEquals(expected,
+                java.util.Arrays.stream(secret.getSubtreePermissions()).sorted().toArray(),
+                "Secret should summarize its own and its child's permission");
+        assertTrue(secret.child("deep").hasSinglePermission());
 
+        sender.addPermission("test.deep");
+        assertTrue(secret.isAccessible(sender), "Reachable through the deep command alone");
+    }
+}
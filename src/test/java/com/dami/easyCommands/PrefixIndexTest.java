@@ -0,0 +1,37 @@
+package com.dami.easyCommands;
+
+import com.dami.easyCommands.internal.LiteralTable;
+import com.dami.easyCommands.internal.PrefixIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrefixIndexTest {
+
+    private enum Fruit { APPLE, APRICOT, BANANA, BLUEBERRY, CHERRY }
+
+    @Test
+    public void testPrefixRange() {
+        PrefixIndex index = LiteralTable.ofEnum(Fruit.class).completions();
+        assertEquals(List.of("apple", "apricot"), index.complete("ap"));
+        assertEquals(List.of("apricot"), index.complete("APR"), "Prefix should be matched case-insensitively");
+        assertEquals(List.of("banana", "blueberry"), index.complete("b"));
+        assertTrue(index.complete("z").isEmpty());
+        assertEquals(5, index.complete("").size());
+    }
+
+    @Test
+    public void testOriginalCaseIsKept() {
+        PrefixIndex index = PrefixIndex.of(List.of("Notch", "jeb_", "Dinnerbone"));
+        assertEquals(List.of("Notch"), index.complete("no"));
+        assertEquals(List.of("Dinnerbone", "jeb_", "Notch"), index.complete(""));
+    }
+
+    @Test
+    public void testResultIsReadOnly() {
+        PrefixIndex index = PrefixIndex.of(List.of("true", "false"));
+        assertThrows(UnsupportedOperationException.class, () -> index.complete("t").add("x"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.dami.easyCommands;
+
+import com.dami.easyCommands.internal.ProfileCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProfileCacheTest {
+
+    private static final UUID NOTCH = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+    private static final UUID JEB = UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6");
+
+    @TempDir
+    File folder;
+
+    @AfterEach
+    public void reset() {
+        ProfileCache.clear();
+        ProfileCache.setResolver(name -> CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    public void testSaveAndLoad() {
+        ProfileCache.put("Notch", NOTCH);
+        ProfileCache.put("jeb_", JEB);
+        File file = new File(folder, ProfileCache.FILE_NAME);
+        ProfileCache.save(file);
+
+        ProfileCache.clear();
+        assertNull(ProfileCache.getUniqueId("notch"));
+        ProfileCache.load(file);
+        assertEquals(NOTCH, ProfileCache.getUniqueId("NOTCH"));
+        assertEquals(JEB, ProfileCache.getUniqueId("jeb_"));
+        assertEquals("Notch", ProfileCache.getName(NOTCH));
+    }
+
+    @Test
+    public void testRenameForgetsOldName() {
+        ProfileCache.put("OldName", NOTCH);
+        ProfileCache.put("NewName", NOTCH);
+        assertNull(ProfileCache.getUniqueId("oldname"));
+        assertEquals(NOTCH, ProfileCache.getUniqueId("newname"));
+        assertEquals(1, ProfileCache.size());
+    }
+
+    @Test
+    public void testMissGoesThroughResolverOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<UUID> answer = new CompletableFuture<>();
+        ProfileCache.setResolver(name -> {
+            calls.incrementAndGet();
+            return answer;
+        });
+
+        CompletableFuture<UUID> first = ProfileCache.resolve("Notch");
+        CompletableFuture<UUID> second = ProfileCache.resolve("notch");
+        assertFalse(first.isDone());
+        assertEquals(1, calls.get(), "Lookups of the same name should be shared");
+        assertTrue(ProfileCache.isResolving("NOTCH"), "The converter should be able to ask the sender to retry");
+
+        answer.complete(NOTCH);
+        assertFalse(ProfileCache.isResolving("Notch"));
+        assertEquals(NOTCH, first.join());
+        assertEquals(NOTCH, second.join());
+        assertEquals(NOTCH, ProfileCache.getUniqueId("Notch"));
+
+        ProfileCache.resolve("Notch");
+        assertEquals(1, calls.get(), "Cached names should not be resolved again");
+    }
+
+    @Test
+    public void testSeedFromUserCache() throws Exception {
+        File userCache = new File(folder, "usercache.json");
+        Files.write(userCache.toPath(), List.of(
+                "[{\"name\":\"Notch\",\"uuid\":\"" + NOTCH + "\",\"expiresOn\":\"2030-01-01 00:00:00 +0000\"},",
+                " {\"name\":\"jeb_\",\"uuid\":\"" + JEB + "\",\"expiresOn\":\"2030-01-01 00:00:00 +0000\"}]"),
+                StandardCharsets.UTF_8);
+        ProfileCache.seedFromUserCache(userCache);
+        assertEquals(NOTCH, ProfileCache.getUniqueId("notch"));
+        assertEquals(JEB, ProfileCache.getUniqueId("JEB_"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.dami.easyCommands;
+
+import com.dami.easyCommands.internal.PrefixIndex;
+import com.dami.easyCommands.internal.RankedMatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RankedMatcherTest {
+
+    private static final List<String> ITEMS = List.of(
+            "diamond_sword", "diamond", "stone_sword", "wooden_sword", "dirt", "sword_fish", "redstone", "diamond_shovel");
+
+    @Test
+    public void testTiers() {
+        RankedMatcher matcher = RankedMatcher.of(ITEMS);
+        assertEquals(List.of("diamond", "diamond_sword", "diamond_shovel"), matcher.top("dia", 10));
+        // Prefix first, then word prefixes in candidate order
+        assertEquals(List.of("sword_fish", "stone_sword", "wooden_sword", "diamond_sword"), matcher.top("sword", 10));
+        assertEquals("diamond_sword", matcher.top("dsw", 10).get(0));
+        // Word pieces beat a substring in the middle of a word
+        assertEquals(List.of("diamond_sword", "diamond_shovel", "redstone"), matcher.top("ds", 3));
+        assertTrue(matcher.top("zz", 10).isEmpty());
+    }
+
+    @Test
+    public void testLimitKeepsBest() {
+        RankedMatcher matcher = RankedMatcher.of(ITEMS);
+        List<String> all = matcher.top("d", 100);
+        for (int limit = 1; limit <= all.size(); limit++) {
+            assertEquals(all.subList(0, limit), matcher.top("d", limit));
+        }
+        assertEquals(ITEMS.subList(0, 2), matcher.top("", 2));
+    }
+
+    @Test
+    public void testOneOffRankMatchesIndex() {
+        List<String> values = new ArrayList<>(ITEMS);
+        values.add("DiamondShovel");
+        RankedMatcher matcher = RankedMatcher.of(values);
+        for (String query : new String[]{"d", "ds", "sw", "STONE", "on", "x"}) {
+            assertEquals(matcher.top(query, 4), RankedMatcher.rank(values, query, 4), query);
+        }
+    }
+
+    @Test
+    public void testPrefixIndexRank() {
+        PrefixIndex index = PrefixIndex.of(ITEMS);
+        assertEquals(List.of("diamond_sword", "wooden_sword"), index.rank("dsw", 5));
+        assertEquals(List.of("sword_fish", "stone_sword"), index.rank("sword", 2));
+    }
+}
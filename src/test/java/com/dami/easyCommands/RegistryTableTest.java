@@ -0,0 +1,55 @@
+package com.dami.easyCommands;
+
+import com.dami.easyCommands.internal.RegistryTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistryTableTest {
+
+    @Test
+    public void testRegistrationBeforeAndAfterFreeze() {
+        RegistryTable<String, Integer> table = new RegistryTable<>();
+        table.put("one", 1);
+        table.put("two", 2);
+        assertFalse(table.isFrozen());
+
+        table.freeze();
+        assertTrue(table.isFrozen());
+        assertEquals(1, table.get("one"));
+        assertNull(table.get("three"));
+
+        // Late registrations are published as a new table
+        table.put("three", 3);
+        table.put("one", 10);
+        table.remove("two");
+        assertEquals(10, table.get("one"));
+        assertEquals(3, table.get("three"));
+        assertFalse(table.containsKey("two"));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    public void testReadsDuringLateRegistration() throws InterruptedException {
+        RegistryTable<Integer, Integer> table = new RegistryTable<>();
+        table.put(0, 0);
+        table.freeze();
+        AtomicBoolean failed = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            for (int i = 0; i < 20000; i++) {
+                if (!Integer.valueOf(0).equals(table.get(0))) {
+                    failed.set(true);
+                }
+            }
+        });
+        reader.start();
+        for (int i = 1; i <= 500; i++) {
+            table.put(i, i);
+        }
+        reader.join();
+        assertFalse(failed.get(), "Readers should always see the entries published before");
+        assertEquals(501, table.size());
+    }
+}
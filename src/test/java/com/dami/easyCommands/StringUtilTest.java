@@ -0,0 +1,63 @@
+package com.dami.easyCommands;
+
+import com.dami.easyCommands.util.StringUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StringUtilTest {
+
+    @Test
+    public void testBoundedDistance() {
+        assertEquals(0, StringUtil.levenshteinDistance("help", "help", 2));
+        assertEquals(1, StringUtil.levenshteinDistance("help", "hlp", 2));
+        assertEquals(2, StringUtil.levenshteinDistance("flaw", "lawn", 2));
+        assertEquals(3, StringUtil.levenshteinDistance("kitten", "sitting", 3));
+        assertEquals(3, StringUtil.levenshteinDistance("kitten", "sitting", 2), "Beyond the bound the result is max + 1");
+        assertEquals(2, StringUtil.levenshteinDistance("ab", "abcd", 3), "Unequal lengths");
+        assertEquals(3, StringUtil.levenshteinDistance("abc", "", 3));
+        assertEquals(1, StringUtil.levenshteinDistance("", "abc", 0), "Length difference alone exceeds the bound");
+        assertEquals(0, StringUtil.levenshteinDistance("Help", "hELP", 0), "Case should be folded");
+        assertEquals(1, StringUtil.levenshteinDistance("\u00C4RGER", "\u00E4rgern", 1), "Case should be folded beyond ASCII");
+    }
+
+    @Test
+    public void testBoundedDistanceMatchesUnbounded() {
+        Random random = new Random(42);
+        for (int round = 0; round < 5000; round++) {
+            String a = randomString(random, 8);
+            String b = random.nextBoolean() ? mutate(random, a) : randomString(random, 8);
+            int distance = StringUtil.levenshteinDistance(a, b);
+            for (int max = 0; max <= 3; max++) {
+                assertEquals(Math.min(distance, max + 1), StringUtil.levenshteinDistance(a, b, max),
+                        "'" + a + "' vs '" + b + "' with max " + max);
+            }
+        }
+    }
+
+    private static String randomString(Random random, int maxLength) {
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(maxLength + 1);
+        for (int i = 0; i < length; i++) {
+            builder.append("abcABC".charAt(random.nextInt(6)));
+        }
+        return builder.toString();
+    }
+
+    // Up to three random edits, so the distances cluster around the bounds being tested
+    private static String mutate(Random random, String s) {
+        StringBuilder builder = new StringBuilder(s);
+        for (int edits = random.nextInt(4); edits > 0; edits--) {
+            int position = random.nextInt(builder.length() + 1);
+            char c = "abcABC".charAt(random.nextInt(6));
+            switch (builder.length() == 0 || position == builder.length() ? 0 : random.nextInt(3)) {
+                case 0 -> builder.insert(position, c);
+                case 1 -> builder.deleteCharAt(position);
+                default -> builder.setCharAt(position, c);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -1,9 +1,14 @@
 package com.dami.easyCommands;
 
+import com.dami.easyCommands.annotations.SubCommand;
 import com.dami.easyCommands.commands.AmazingBaseCommand;
 import com.dami.easyCommands.commands.ExampleSubCommand;
+import com.dami.easyCommands.core.ICommand;
+import com.dami.easyCommands.internal.CompiledNode;
+import com.dami.easyCommands.internal.RegistrationTiming;
 import com.dami.easyCommands.mocks.MockCommand;
 import com.dami.easyCommands.mocks.MockCommandSender;
+import org.bukkit.command.CommandSender;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -40,4 +45,162 @@ public class SubCommandClassTest {
         assertNotNull(result);
         assertTrue(result.contains("unalive"));
     }
+
+    @SubCommand(commandPath = {}, name = "shop")
+    public static class ShopCommand implements ICommand {
+        @Override
+        public String getName() {
+            return "shop";
+        }
+
+        @Override
+        public void mainCommand(CommandSender sender, String[] args) {
+            sender.sendMessage("Shop opened");
+        }
+
+        @Override
+        public List<String> tabComplete(CommandSender sender, String[] args) {
+            return List.of();
+        }
+
+        @SubCommand(commandPath = {}, name = "buy")
+        public void buy(CommandSender sender, String item) {
+            sender.sendMessage("Bought " + item);
+        }
+    }
+
+    @SubCommand(commandPath = {"shop"}, name = "sell")
+    public static class SellCommand implements ICommand {
+        @Override
+        public String getName() {
+            return "sell";
+        }
+
+        @Override
+        public void mainCommand(CommandSender sender, String[] args) {
+            sender.sendMessage("Sold");
+        }
+
+        @Override
+        public List<String> tabComplete(CommandSender sender, String[] args) {
+            return List.of();
+        }
+    }
+
+    @Test
+    public void testRegisterSeveralClasses() {
+        AmazingBaseCommand batch = new AmazingBaseCommand();
+        batch.registerSubCommandClasses(new ShopCommand(), new SellCommand(), new ExampleSubCommand(), new ShopCommand());
+
+        batch.onCommand(sender, bukkitCommand, "amazing", new String[]{"shop", "buy", "apple"});
+        batch.onCommand(sender, bukkitCommand, "amazing", new String[]{"shop", "sell"});
+        batch.onCommand(sender, bukkitCommand, "amazing", new String[]{"admin", "unalive"});
+        assertEquals(List.of("Bought apple", "Sold", "Example Sub Command Executed"), sender.getMessages());
+
+        List<String> registered = batch.getRegistrationTimings().stream().map(RegistrationTiming::getClassName).toList();
+        assertEquals(List.of(AmazingBaseCommand.class.getName(), ShopCommand.class.getName(),
+                SellCommand.class.getName(), ExampleSubCommand.class.getName()), registered, "Timings should follow registration order");
+        RegistrationTiming shop = batch.getRegistrationTimings().get(1);
+        assertEquals(2, shop.getCommands());
+        assertEquals(1, shop.getTabCompletes());
+        assertTrue(shop.getScanNanos() > 0);
+    }
+
+    @Test
+    public void testBatchMatchesOneByOne() {
+        AmazingBaseCommand batch = new AmazingBaseCommand();
+        batch.registerSubCommandClasses(new ShopCommand(), new SellCommand(), new ExampleSubCommand());
+        command.RegisterSubCommandClass(new ShopCommand());
+        command.RegisterSubCommandClass(new SellCommand());
+        for (String[] args : new String[][]{{""}, {"shop", ""}, {"admin", ""}}) {
+            assertEquals(command.onTabComplete(sender, bukkitCommand, "amazing", args),
+                    batch.onTabComplete(sender, bukkitCommand, "amazing", args));
+        }
+    }
+
+    @Test
+    public void testLazyRegistration() {
+        AmazingBaseCommand lazy = new AmazingBaseCommand();
+        int[] created = new int[1];
+        lazy.registerSubCommandClass(ShopCommand.class, () -> {
+            created[0]++;
+            return new ShopCommand();
+        });
+        lazy.registerSubCommandClass(SellCommand.class, SellCommand::new);
+
+        // The placeholder is listed without creating the class
+        assertTrue(lazy.onTabComplete(sender, bukkitCommand, "amazing", new String[]{"sh"}).contains("shop"));
+        assertEquals(0, created[0]);
+        assertFalse(lazy.isSubCommandClassLoaded(ShopCommand.class));
+
+        // Async completion leaves loading to the main thread
+        assertNull(lazy.tabCompleteAsync(sender, new String[]{"shop", ""}));
+        assertEquals(0, created[0]);
+
+        assertEquals(List.of("buy", "sell"), lazy.onTabComplete(sender, bukkitCommand, "amazing", new String[]{"shop", ""}));
+        assertEquals(1, created[0]);
+        assertTrue(lazy.isSubCommandClassLoaded(ShopCommand.class));
+        assertFalse(lazy.isSubCommandClassLoaded(SellCommand.class));
+
+        lazy.onCommand(sender, bukkitCommand, "amazing", new String[]{"shop", "buy", "apple"});
+        lazy.onCommand(sender, bukkitCommand, "amazing", new String[]{"shop", "sell"});
+        assertEquals(List.of("Bought apple", "Sold"), sender.getMessages());
+        assertEquals(1, created[0]);
+        assertTrue(lazy.isSubCommandClassLoaded(SellCommand.class));
+    }
+
+    @Test
+    public void testUnregisterSharesUntouchedSubtrees() {
+        command.registerSubCommandClasses(new ShopCommand(), new SellCommand());
+        CompiledNode admin = command.getCompiledRoot().child("admin");
+        CompiledNode sell = command.getCompiledRoot().child("shop").child("sell");
+
+        assertTrue(command.unregisterSubCommandClass(ShopCommand.class));
+        assertFalse(command.unregisterSubCommandClass(ShopCommand.class));
+        assertSame(admin, command.getCompiledRoot().child("admin"), "Subtrees off the changed path should be shared");
+        CompiledNode shop = command.getCompiledRoot().child("shop");
+        assertNull(shop.getSubCommandInfo());
+        assertNull(shop.child("buy"));
+        assertNotNull(shop.child("sell"), "Commands of other classes below the path should stay");
+
+        assertTrue(command.unregisterSubCommandClass(SellCommand.class));
+        assertNull(command.getCompiledRoot().child("shop"));
+        assertSame(admin, command.getCompiledRoot().child("admin"));
+
+        // Registering again rebuilds the same tree a fresh registration does
+        command.registerSubCommandClasses(new SellCommand(), new ShopCommand());
+        AmazingBaseCommand fresh = new AmazingBaseCommand();
+        fresh.registerSubCommandClasses(new ExampleSubCommand(), new SellCommand(), new ShopCommand());
+        for (String[] args : new String[][]{{""}, {"shop", ""}, {"admin", ""}}) {
+            assertEquals(fresh.onTabComplete(sender, bukkitCommand, "amazing", args),
+                    command.onTabComplete(sender, bukkitCommand, "amazing", args));
+        }
+        command.onCommand(sender, bukkitCommand, "amazing", new String[]{"shop", "buy", "apple"});
+        assertEquals(List.of("Bought apple"), sender.getMessages());
+        assertNotSame(sell, command.getCompiledRoot().child("shop").child("sell"));
+    }
+
+    @Test
+    public void testUnregisterLazyClass() {
+        command.registerSubCommandClass(ShopCommand.class, ShopCommand::new);
+        assertTrue(command.onTabComplete(sender, bukkitCommand, "amazing", new String[]{"sh"}).contains("shop"));
+
+        assertTrue(command.unregisterSubCommandClass(ShopCommand.class));
+        assertFalse(command.onTabComplete(sender, bukkitCommand, "amazing", new String[]{"sh"}).contains("shop"));
+        assertFalse(command.isSubCommandClassLoaded(ShopCommand.class));
+        assertNotNull(command.getCompiledRoot().child("admin"));
+    }
+
+    @Test
+    public void testRemoveCommand() {
+        CompiledNode admin = command.getCompiledRoot().child("admin");
+        assertFalse(command.removeCommand("missing"));
+        assertTrue(command.removeCommand("subexample", "two"));
+        assertFalse(command.removeCommand("subexample", "two"));
+        CompiledNode subexample = command.getCompiledRoot().child("subexample");
+        assertNull(subexample.child("two"));
+        assertNotNull(subexample.child("one"));
+        assertNotNull(subexample.getSubCommandInfo());
+        assertSame(admin, command.getCompiledRoot().child("admin"));
+    }
 }
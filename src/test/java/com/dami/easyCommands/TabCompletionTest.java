@@ -38,6 +38,18 @@ public class TabCompletionTest {
         assertTrue(suggestions.contains("base2"));
     }
 
+    @Test
+    public void testSuggestionsNarrowToTypedPrefix() {
+        // Keys and the overridden tabComplete are narrowed alike, for every sender
+        List<String> suggestions = command.onTabComplete(sender, bukkitCommand, "amazing", new String[]{"SUB"});
+        assertTrue(suggestions.contains("subexample"));
+        assertTrue(suggestions.contains("subexample2"));
+        assertFalse(suggestions.contains("testcompletions"));
+        assertFalse(suggestions.contains("base1"));
+
+        assertEquals(List.of("base1", "base2"), command.onTabComplete(sender, bukkitCommand, "amazing", new String[]{"base"}).stream().sorted().toList());
+    }
+
     @Test
     public void testSubCommandTabComplete() {
         // When typing /amazing subexample <tab>
@@ -80,4 +92,27 @@ public class TabCompletionTest {
         assertTrue(suggestions.contains("custom1"));
         assertTrue(suggestions.contains("custom2"));
     }
+
+    @Test
+    public void testAsyncFallsBackForUnsafeMethods() {
+        // The overridden tabComplete and the @SubCommandTab methods are not declared thread-safe
+        assertNull(command.tabCompleteAsync(sender, new String[]{""}));
+        assertNull(command.tabCompleteAsync(sender, new String[]{"subexample", ""}));
+
+        List<String> suggestions = command.onTabComplete(sender, bukkitCommand, "amazing", new String[]{"subexample", ""});
+        assertNotNull(suggestions);
+        assertTrue(suggestions.contains("one"));
+    }
+
+    @Test
+    public void testAsyncUsesThreadSafeCompletions() {
+        EasyCommands.registerCompletion("@test", s -> List.of("custom1", "custom2"), true);
+        List<String> suggestions = command.tabCompleteAsync(sender, new String[]{"testcompletions", "c"});
+        assertNotNull(suggestions);
+        assertTrue(suggestions.contains("custom1"));
+        assertTrue(suggestions.contains("custom2"));
+
+        EasyCommands.registerCompletion("@test", s -> List.of("custom1", "custom2"));
+        assertNull(command.tabCompleteAsync(sender, new String[]{"testcompletions", "c"}));
+    }
 }